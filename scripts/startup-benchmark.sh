@@ -0,0 +1,54 @@
+#!/usr/bin/env bash
+#
+# Compares startup time and first-request latency of the JVM, CDS and native builds.
+#
+#   mvn package -DskipTests                      # jvm:    target/locationsearch-0.0.1-SNAPSHOT.jar
+#   mvn -Pcds package -DskipTests                # cds:    target/cds/ (jar + application.jsa)
+#   mvn -Pnative native:compile -DskipTests      # native: target/locationsearch
+#   scripts/startup-benchmark.sh jvm cds native
+#
+# Warm-up is disabled so that "ready" measures startup alone and the first search is cold.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+PORT=${PORT:-18080}
+BASE="http://localhost:${PORT}"
+JAR=locationsearch-0.0.1-SNAPSHOT.jar
+APP_ARGS=(--server.port="${PORT}" --search.warmup.enabled=false)
+# The cds and native builds package a prebuilt index snapshot.
+SNAPSHOT_ARG=--search.index.snapshot=classpath:index.bin
+
+start_app() {
+  case "$1" in
+    jvm)    exec java -jar "target/${JAR}" "${APP_ARGS[@]}" ;;
+    cds)    cd target/cds && exec java -XX:SharedArchiveFile=application.jsa -Xlog:cds=off \
+                -Dspring.aot.enabled=true -jar "${JAR}" "${APP_ARGS[@]}" "${SNAPSHOT_ARG}" ;;
+    native) exec target/locationsearch "${APP_ARGS[@]}" "${SNAPSHOT_ARG}" ;;
+    *)      echo "unknown mode: $1" >&2; return 1 ;;
+  esac
+}
+
+now_ms() { date +%s%3N; }
+
+printf "%-8s %12s %12s %16s\n" mode started_s ready_ms first_search_ms
+for mode in "${@:-jvm}"; do
+  log=$(mktemp)
+  launched=$(now_ms)
+  start_app "$mode" >"$log" 2>&1 &
+  pid=$!
+  until curl -sf "${BASE}/actuator/health/readiness" >/dev/null; do
+    kill -0 "$pid" 2>/dev/null || { cat "$log" >&2; exit 1; }
+    sleep 0.02
+  done
+  ready=$(( $(now_ms) - launched ))
+  started=$(grep -o 'Started LocationSearchApplication in [0-9.]*' "$log" | awk '{print $NF}')
+
+  jar=$(mktemp)
+  curl -s -c "$jar" -H 'Content-Type: application/json' \
+       -d '{"userId":"bench","password":"bench"}' "${BASE}/login" >/dev/null
+  first=$(curl -s -b "$jar" -o /dev/null -w '%{time_total}' "${BASE}/result?input=Berlin")
+
+  printf "%-8s %12s %12s %16s\n" "$mode" "$started" "$ready" "$(awk -v t="$first" 'BEGIN { printf "%.1f", t * 1000 }')"
+  kill "$pid"; wait "$pid" 2>/dev/null || true
+  rm -f "$log" "$jar"
+done
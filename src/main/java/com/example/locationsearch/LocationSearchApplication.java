@@ -1,9 +1,12 @@
 package com.example.locationsearch;
 
+import com.example.locationsearch.config.LocationSearchRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 @SpringBootApplication
+@ImportRuntimeHints(LocationSearchRuntimeHints.class)
 public class LocationSearchApplication {
 
 	public static void main(String[] args) {
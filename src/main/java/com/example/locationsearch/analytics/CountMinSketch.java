@@ -0,0 +1,71 @@
+package com.example.locationsearch.analytics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Count-Min Sketch for approximate frequency counts in fixed memory.
+ * - Counters live in a single {@link AtomicLongArray} of depth × width cells, so updates
+ *   from request threads are lock-free.
+ * - Estimates never undercount; they overcount by at most total/width with high probability.
+ */
+public class CountMinSketch {
+    private final int depth;
+    private final int width;
+    private final AtomicLongArray counters;
+
+    /**
+     * @param depth number of hash rows; more rows lower the chance of a large overcount
+     * @param width counters per row; more counters lower the size of the overcount
+     */
+    public CountMinSketch(int depth, int width) {
+        if (depth < 1 || width < 1) {
+            throw new IllegalArgumentException("Sketch depth and width must be positive");
+        }
+        this.depth = depth;
+        this.width = width;
+        this.counters = new AtomicLongArray(depth * width);
+    }
+
+    /**
+     * Counts one occurrence of a key and returns its estimated count including this occurrence.
+     *
+     * @param key the key to count
+     * @return the estimated count of the key
+     */
+    public long addAndEstimate(String key) {
+        long hash = Hashing.hash64(key);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.incrementAndGet(cell(hash, row)));
+        }
+        return estimate;
+    }
+
+    /**
+     * @param key the key to look up
+     * @return the estimated count of the key
+     */
+    public long estimate(String key) {
+        long hash = Hashing.hash64(key);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.get(cell(hash, row)));
+        }
+        return estimate;
+    }
+
+    /**
+     * Resets all counters to zero.
+     */
+    public void clear() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.set(i, 0);
+        }
+    }
+
+    private int cell(long hash, int row) {
+        // Derives the row hashes from two halves of one 64-bit hash (Kirsch–Mitzenmacher).
+        int combined = (int) hash + row * (int) (hash >>> 32);
+        return row * width + Math.floorMod(combined, width);
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.locationsearch.analytics;
+
+/**
+ * 64-bit string hashing shared by the sketches in this package.
+ */
+final class Hashing {
+
+    private Hashing() {
+    }
+
+    /**
+     * Hashes the characters of a string with FNV-1a and finalizes the result with the
+     * MurmurHash3 64-bit mixer, so that both the low and high bits are well distributed.
+     *
+     * @param value the string to hash
+     * @return a 64-bit hash
+     */
+    static long hash64(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.locationsearch.analytics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Tracks the approximately most frequent keys of a stream.
+ * - Frequencies come from a {@link CountMinSketch}; only keys whose estimate beats the
+ *   current admission threshold are kept as candidates.
+ * - When the candidate set grows past twice the requested size, whichever thread wins a
+ *   compare-and-set trims it back to the top entries; other threads never wait for it.
+ */
+public class HeavyHitters {
+    private final int size;
+    private final CountMinSketch sketch;
+    private final Map<String, Long> candidates = new ConcurrentHashMap<>();
+    private final AtomicBoolean trimming = new AtomicBoolean();
+    private volatile long threshold;
+
+    /**
+     * @param size   number of top keys to report, at least 1
+     * @param sketch sketch used for frequency estimates
+     */
+    public HeavyHitters(int size, CountMinSketch sketch) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Number of top keys must be positive");
+        }
+        this.size = size;
+        this.sketch = sketch;
+    }
+
+    /**
+     * Counts one occurrence of a key.
+     *
+     * @param key the key to count
+     */
+    public void add(String key) {
+        long estimate = sketch.addAndEstimate(key);
+        if (estimate > threshold || candidates.containsKey(key)) {
+            candidates.put(key, estimate);
+            if (candidates.size() > 2 * size && trimming.compareAndSet(false, true)) {
+                try {
+                    trim();
+                } finally {
+                    trimming.set(false);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the top keys with their estimated counts, most frequent first
+     */
+    public List<Map.Entry<String, Long>> top() {
+        List<Map.Entry<String, Long>> entries = new ArrayList<>(candidates.size());
+        candidates.forEach((key, count) -> entries.add(Map.entry(key, count)));
+        entries.sort(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()));
+        return entries.size() > size ? entries.subList(0, size) : entries;
+    }
+
+    /**
+     * Forgets all keys and counts.
+     */
+    public void clear() {
+        candidates.clear();
+        sketch.clear();
+        threshold = 0;
+    }
+
+    private void trim() {
+        List<Map.Entry<String, Long>> ranked = top();
+        threshold = ranked.get(ranked.size() - 1).getValue();
+        candidates.keySet().retainAll(ranked.stream().map(Map.Entry::getKey).toList());
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.locationsearch.analytics;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Rolling per-minute query and miss counters over a fixed number of minutes.
+ * - Each slot of a ring holds the minute it belongs to and its two counters; a slot is
+ *   claimed for a new minute with compare-and-set, so recording never blocks.
+ * - Counts racing with a slot rollover may be attributed to the new minute; the windows
+ *   are meant for trends, not billing.
+ */
+public class MinuteWindows {
+    private static final int MINUTE = 0;
+    private static final int QUERIES = 1;
+    private static final int MISSES = 2;
+    private static final int FIELDS = 3;
+
+    private final Clock clock;
+    private final int minutes;
+    private final AtomicLongArray slots;
+
+    /**
+     * @param clock   clock used to determine the current minute
+     * @param minutes number of minutes kept, at least 1
+     */
+    public MinuteWindows(Clock clock, int minutes) {
+        if (minutes < 1) {
+            throw new IllegalArgumentException("Number of minutes must be positive");
+        }
+        this.clock = clock;
+        this.minutes = minutes;
+        this.slots = new AtomicLongArray(minutes * FIELDS);
+        for (int i = 0; i < minutes; i++) {
+            slots.set(i * FIELDS + MINUTE, -1);
+        }
+    }
+
+    /**
+     * Records one query in the current minute.
+     *
+     * @param miss whether the query found no location
+     */
+    public void record(boolean miss) {
+        long minute = clock.millis() / 60_000;
+        int base = (int) (minute % minutes) * FIELDS;
+        long slotMinute = slots.get(base + MINUTE);
+        if (slotMinute < minute && slots.compareAndSet(base + MINUTE, slotMinute, minute)) {
+            slots.set(base + QUERIES, 0);
+            slots.set(base + MISSES, 0);
+        }
+        slots.incrementAndGet(base + QUERIES);
+        if (miss) {
+            slots.incrementAndGet(base + MISSES);
+        }
+    }
+
+    /**
+     * @return the counters of all minutes still inside the window, oldest first
+     */
+    public List<Window> snapshot() {
+        long current = clock.millis() / 60_000;
+        List<Window> windows = new ArrayList<>(minutes);
+        for (long minute = current - minutes + 1; minute <= current; minute++) {
+            int base = Math.floorMod(minute, minutes) * FIELDS;
+            if (slots.get(base + MINUTE) == minute) {
+                windows.add(new Window(Instant.ofEpochMilli(minute * 60_000),
+                        slots.get(base + QUERIES), slots.get(base + MISSES)));
+            }
+        }
+        return windows;
+    }
+
+    /**
+     * Forgets all recorded minutes.
+     */
+    public void clear() {
+        for (int i = 0; i < minutes; i++) {
+            slots.set(i * FIELDS + MINUTE, -1);
+            slots.set(i * FIELDS + QUERIES, 0);
+            slots.set(i * FIELDS + MISSES, 0);
+        }
+    }
+
+    /**
+     * Counters of a single minute.
+     *
+     * @param start   start of the minute
+     * @param queries number of queries recorded
+     * @param misses  number of queries that found no location
+     */
+    public record Window(Instant start, long queries, long misses) {
+    }
+}
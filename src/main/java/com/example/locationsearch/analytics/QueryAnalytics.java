@@ -0,0 +1,98 @@
+package com.example.locationsearch.analytics;
+
+import com.example.locationsearch.dto.AnalyticsReport;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process analytics over the search queries answered by the application.
+ * - Top queries and top misses are tracked with {@link HeavyHitters} over Count-Min Sketches.
+ * - The number of distinct queries is estimated with a {@link HyperLogLog}.
+ * - Per-minute query and miss counts are kept in {@link MinuteWindows}.
+ * All structures have a fixed size and are updated without locks on the request path.
+ */
+@Component
+public class QueryAnalytics {
+    private final HeavyHitters topQueries;
+    private final HeavyHitters topMisses;
+    private final HyperLogLog distinctQueries;
+    private final MinuteWindows minuteWindows;
+    private final LongAdder totalQueries = new LongAdder();
+    private final LongAdder totalMisses = new LongAdder();
+
+    @Autowired
+    public QueryAnalytics(@Value("${search.analytics.top-k:20}") int topK,
+                          @Value("${search.analytics.sketch-depth:4}") int sketchDepth,
+                          @Value("${search.analytics.sketch-width:4096}") int sketchWidth,
+                          @Value("${search.analytics.hll-precision:12}") int hllPrecision,
+                          @Value("${search.analytics.window-minutes:60}") int windowMinutes) {
+        this(topK, sketchDepth, sketchWidth, hllPrecision, windowMinutes, Clock.systemUTC());
+    }
+
+    QueryAnalytics(int topK, int sketchDepth, int sketchWidth, int hllPrecision, int windowMinutes,
+                   Clock clock) {
+        this.topQueries = new HeavyHitters(topK, new CountMinSketch(sketchDepth, sketchWidth));
+        this.topMisses = new HeavyHitters(topK, new CountMinSketch(sketchDepth, sketchWidth));
+        this.distinctQueries = new HyperLogLog(hllPrecision);
+        this.minuteWindows = new MinuteWindows(clock, windowMinutes);
+    }
+
+    /**
+     * Records an answered search query.
+     *
+     * @param query the normalized search input; counted case-insensitively
+     * @param found whether a location was found for it
+     */
+    public void record(String query, boolean found) {
+        String key = query.toLowerCase(Locale.ROOT);
+        totalQueries.increment();
+        topQueries.add(key);
+        distinctQueries.add(key);
+        if (!found) {
+            totalMisses.increment();
+            topMisses.add(key);
+        }
+        minuteWindows.record(!found);
+    }
+
+    /**
+     * @return a point-in-time report of all analytics
+     */
+    public AnalyticsReport report() {
+        return new AnalyticsReport(
+                totalQueries.sum(),
+                totalMisses.sum(),
+                distinctQueries.estimate(),
+                toQueryCounts(topQueries.top()),
+                toQueryCounts(topMisses.top()),
+                minuteWindows.snapshot().stream()
+                        .map(w -> new AnalyticsReport.MinuteStats(w.start(), w.queries(), w.misses(),
+                                w.queries() == 0 ? 0 : (double) w.misses() / w.queries()))
+                        .toList());
+    }
+
+    /**
+     * Forgets everything recorded so far.
+     */
+    public void reset() {
+        topQueries.clear();
+        topMisses.clear();
+        distinctQueries.clear();
+        minuteWindows.clear();
+        totalQueries.reset();
+        totalMisses.reset();
+    }
+
+    private static List<AnalyticsReport.QueryCount> toQueryCounts(List<Map.Entry<String, Long>> entries) {
+        return entries.stream()
+                .map(e -> new AnalyticsReport.QueryCount(e.getKey(), e.getValue()))
+                .toList();
+    }
+}
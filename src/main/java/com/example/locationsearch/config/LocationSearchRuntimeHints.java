@@ -0,0 +1,23 @@
+package com.example.locationsearch.config;
+
+import com.example.locationsearch.model.Location;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+/**
+ * Runtime hints for the GraalVM native image (see the "native" Maven profile).
+ * - {@link Location} is read reflectively by Thymeleaf expressions in the templates.
+ * - Templates and prebuilt location snapshots are loaded from the classpath.
+ */
+public class LocationSearchRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        hints.reflection().registerType(Location.class,
+                MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+        hints.resources().registerPattern("templates/**");
+        hints.resources().registerPattern("*.bin");
+        hints.resources().registerPattern("aliases.tsv");
+    }
+}
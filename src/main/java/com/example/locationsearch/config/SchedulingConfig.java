@@ -0,0 +1,12 @@
+package com.example.locationsearch.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables {@code @Scheduled} methods, used to poll the location change log.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
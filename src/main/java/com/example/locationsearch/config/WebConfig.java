@@ -0,0 +1,49 @@
+package com.example.locationsearch.config;
+
+import jakarta.servlet.Filter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Spring MVC configuration: registers {@link LoginRequiredInterceptor} for the JSON endpoints
+ * and {@link AdminRequiredInterceptor} for the admin endpoints and the actuator metrics.
+ */
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    @Autowired
+    LoginRequiredInterceptor loginRequiredInterceptor;
+
+    @Autowired
+    AdminRequiredInterceptor adminRequiredInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(loginRequiredInterceptor).addPathPatterns("/api/**");
+        registry.addInterceptor(adminRequiredInterceptor).addPathPatterns("/admin/**");
+    }
+
+    /**
+     * Applies the admin check to /actuator/metrics. Actuator endpoints have their own handler
+     * mapping, which MVC interceptors do not reach, so the check runs as a servlet filter.
+     * The health probes stay open.
+     *
+     * @return the filter registration
+     */
+    @Bean
+    public FilterRegistrationBean<Filter> adminMetricsFilter() {
+        FilterRegistrationBean<Filter> registration = new FilterRegistrationBean<>((request, response, chain) -> {
+            if (adminRequiredInterceptor.preHandle((HttpServletRequest) request, (HttpServletResponse) response, null)) {
+                chain.doFilter(request, response);
+            }
+        });
+        registration.addUrlPatterns("/actuator/metrics", "/actuator/metrics/*");
+        return registration;
+    }
+}
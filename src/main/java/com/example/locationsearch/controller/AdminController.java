@@ -0,0 +1,124 @@
+package com.example.locationsearch.controller;
+
+import com.example.locationsearch.analytics.QueryAnalytics;
+import com.example.locationsearch.dto.AnalyticsReport;
+import com.example.locationsearch.dto.LocationRequest;
+import com.example.locationsearch.logging.AsyncRequestLogger;
+import com.example.locationsearch.model.Location;
+import com.example.locationsearch.service.LocationIndex;
+import com.example.locationsearch.service.SearchService;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JSON endpoints for operating the application.
+ * - Requires a session logged in as the configured admin user, enforced by AdminRequiredInterceptor.
+ * - Location changes are refused with 409 while delta ingest (search.delta.file) is enabled:
+ *   the change log is then the only source of changes, so that every instance applies the
+ *   same changes and they survive restarts. Write them to the change log instead.
+ */
+@RestController
+@RequestMapping("/admin")
+public class AdminController {
+    private static final Logger logger = LoggerFactory.getLogger(AdminController.class);
+
+    @Autowired
+    QueryAnalytics queryAnalytics;
+
+    @Autowired
+    SearchService searchService;
+
+    @Autowired
+    AsyncRequestLogger requestLogger;
+
+    @Value("${search.delta.file:}")
+    String changeFile;
+
+    /**
+     * Returns the query analytics collected since startup: top queries, top misses,
+     * distinct query count and per-minute query and miss counts.
+     *
+     * @return the current {@link AnalyticsReport}
+     */
+    @GetMapping("/analytics")
+    public AnalyticsReport analytics() {
+        return queryAnalytics.report();
+    }
+
+    /**
+     * Adds a location or replaces the location with the same city name (case-insensitive).
+     * The change is visible to searches as soon as this call returns. Repeated ZIP codes
+     * (case-insensitive) are stored once; ZIP codes of other cities move to this one.
+     *
+     * @param city    the city name; same characters as search input, so that it can be found
+     * @param request state, country and ZIP codes of the location
+     * @return status 200 with the stored {@link Location}, 400 with validation errors,
+     * or 409 while delta ingest is enabled
+     */
+    @PutMapping("/locations/{city}")
+    public ResponseEntity<?> upsertLocation(@PathVariable String city,
+                                            @Valid @RequestBody LocationRequest request) {
+        if (isDeltaIngestEnabled()) {
+            return changeLogOnly();
+        }
+        String normalized = city.strip();
+        if (!SearchInput.isValid(normalized)) {
+            return ResponseEntity.badRequest().body(Map.of("city",
+                    "City may only contain letters, numbers, spaces, and hyphens"));
+        }
+        Map<String, String> zipCodes = new LinkedHashMap<>();
+        for (String zip : request.getZipCodes()) {
+            zipCodes.putIfAbsent(LocationIndex.key(zip), zip);
+        }
+        Location location = new Location(normalized, List.copyOf(zipCodes.values()),
+                request.getState(), request.getCountry());
+        searchService.upsert(location);
+        requestLogger.info(logger, "event=location_upsert city='{}' state='{}' country='{}' zip_count={}",
+                location.getCity(), location.getState(), location.getCountry(), location.getZipCodes().size());
+        return ResponseEntity.ok(location);
+    }
+
+    /**
+     * Retires the location with the given city name together with its ZIP codes.
+     *
+     * @param city the city name (case-insensitive)
+     * @return status 204 if the location was retired, 404 if the city is unknown,
+     * or 409 while delta ingest is enabled
+     */
+    @DeleteMapping("/locations/{city}")
+    public ResponseEntity<?> deleteLocation(@PathVariable String city) {
+        if (isDeltaIngestEnabled()) {
+            return changeLogOnly();
+        }
+        if (!searchService.delete(city.strip())) {
+            return ResponseEntity.notFound().build();
+        }
+        requestLogger.info(logger, "event=location_delete city='{}'", city.strip());
+        return ResponseEntity.noContent().build();
+    }
+
+    private boolean isDeltaIngestEnabled() {
+        return changeFile != null && !changeFile.isBlank();
+    }
+
+    private static ResponseEntity<Map<String, String>> changeLogOnly() {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("locations",
+                "Locations are changed through the change log while search.delta.file is set"));
+    }
+}
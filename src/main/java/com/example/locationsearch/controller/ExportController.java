@@ -0,0 +1,93 @@
+package com.example.locationsearch.controller;
+
+import com.example.locationsearch.export.ExportFormat;
+import com.example.locationsearch.export.LocationExporter;
+import com.example.locationsearch.logging.AsyncRequestLogger;
+import com.example.locationsearch.service.GeoHierarchy;
+import com.example.locationsearch.service.LocationIndex;
+import com.example.locationsearch.service.SearchService;
+import com.example.locationsearch.service.StringIntIndex;
+import jakarta.validation.constraints.Min;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.Locale;
+
+/**
+ * Bulk export of the location data.
+ * - Requires a logged-in session, enforced by LoginRequiredInterceptor.
+ * - The response is streamed by {@link LocationExporter} from the index that was current
+ *   when the request arrived; the version of that index is sent in {@code X-Index-Version}.
+ */
+@RestController
+@RequestMapping("/api/export")
+public class ExportController {
+    private static final Logger logger = LoggerFactory.getLogger(ExportController.class);
+
+    @Autowired
+    SearchService searchService;
+
+    @Autowired
+    LocationExporter locationExporter;
+
+    @Autowired
+    AsyncRequestLogger requestLogger;
+
+    /**
+     * Streams all locations, optionally filtered by country and state, in id order.
+     *
+     * @param format  {@code ndjson} (default) or {@code csv}
+     * @param country country to export (case-insensitive), or all countries if absent
+     * @param state   state to export (case-insensitive); requires {@code country}
+     * @param cursor  first id to export; pass the last received id + 1 to resume
+     * @return status 200 with the streamed locations, 400 for a state without a country,
+     * or 404 if the country or state is unknown
+     */
+    @GetMapping("/locations")
+    public ResponseEntity<StreamingResponseBody> exportLocations(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) String country,
+            @RequestParam(required = false) String state,
+            @RequestParam(defaultValue = "0") @Min(0) int cursor) {
+        ExportFormat exportFormat;
+        try {
+            exportFormat = ExportFormat.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (state != null && country == null) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        LocationIndex index = searchService.getIndex();
+        GeoHierarchy hierarchy = index.hierarchy();
+        if (country != null) {
+            int countryId = hierarchy.findCountry(country.strip());
+            if (countryId == StringIntIndex.NOT_FOUND
+                    || (state != null && hierarchy.findState(countryId, state.strip()) == StringIntIndex.NOT_FOUND)) {
+                return ResponseEntity.notFound().build();
+            }
+        }
+
+        StreamingResponseBody body = out -> {
+            long exported = locationExporter.export(index, exportFormat, country, state, cursor, out);
+            requestLogger.info(logger, "event=export format={} country={} state={} cursor={} exported={}",
+                    exportFormat.extension(), country, state, cursor, exported);
+        };
+        return ResponseEntity.ok()
+                .contentType(exportFormat.mediaType())
+                .header("X-Index-Version", Long.toHexString(index.version()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("locations." + exportFormat.extension()).build().toString())
+                .body(body);
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.locationsearch.controller;
+
+import com.example.locationsearch.dto.GeoNode;
+import com.example.locationsearch.dto.GeoPage;
+import com.example.locationsearch.model.Location;
+import com.example.locationsearch.service.GeoHierarchy;
+import com.example.locationsearch.service.LocationIndex;
+import com.example.locationsearch.service.SearchService;
+import com.example.locationsearch.service.StringIntIndex;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+
+/**
+ * JSON endpoints for browsing locations as a country → state → city → ZIP hierarchy.
+ * - Requires a logged-in session, enforced by LoginRequiredInterceptor.
+ * - Children are ordered by name and paginated with {@code page} and {@code size}.
+ * - Names in the path are matched case-insensitively; unknown names return 404.
+ * - Reads one {@link LocationIndex} per request, so a page never mixes two index versions.
+ */
+@RestController
+@RequestMapping("/api/geo")
+public class GeoController {
+    private static final String DEFAULT_PAGE_SIZE = "50";
+    private static final int MAX_PAGE_SIZE = 500;
+
+    @Autowired
+    SearchService searchService;
+
+    /**
+     * Lists all countries with their state, city and ZIP counts.
+     *
+     * @param page zero-based page number
+     * @param size page size, 1 to 500
+     * @return a page of countries
+     */
+    @GetMapping("/countries")
+    public GeoPage<GeoNode> countries(@RequestParam(defaultValue = "0") @Min(0) int page,
+                                      @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) @Min(1) @Max(MAX_PAGE_SIZE) int size) {
+        GeoHierarchy hierarchy = searchService.getIndex().hierarchy();
+        return page(hierarchy.countryCount(), page, size, country -> new GeoNode(hierarchy.countryName(country),
+                hierarchy.countryStateCount(country), hierarchy.countryCityCount(country),
+                hierarchy.countryZipCount(country)));
+    }
+
+    /**
+     * Lists the states of a country with their city and ZIP counts.
+     *
+     * @param country the country name
+     * @param page    zero-based page number
+     * @param size    page size, 1 to 500
+     * @return status 200 with a page of states, or 404 if the country is unknown
+     */
+    @GetMapping("/countries/{country}/states")
+    public ResponseEntity<GeoPage<GeoNode>> states(@PathVariable String country,
+                                                   @RequestParam(defaultValue = "0") @Min(0) int page,
+                                                   @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) @Min(1) @Max(MAX_PAGE_SIZE) int size) {
+        GeoHierarchy hierarchy = searchService.getIndex().hierarchy();
+        int countryId = hierarchy.findCountry(country.strip());
+        if (countryId == StringIntIndex.NOT_FOUND) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(page(hierarchy.countryStateCount(countryId), page, size, i -> {
+            int state = hierarchy.stateAt(countryId, i);
+            return new GeoNode(hierarchy.stateName(state), null, hierarchy.stateCityCount(state),
+                    hierarchy.stateZipCount(state));
+        }));
+    }
+
+    /**
+     * Lists the cities of a state with their ZIP counts.
+     *
+     * @param country the country name
+     * @param state   the state name
+     * @param page    zero-based page number
+     * @param size    page size, 1 to 500
+     * @return status 200 with a page of cities, or 404 if the country or state is unknown
+     */
+    @GetMapping("/countries/{country}/states/{state}/cities")
+    public ResponseEntity<GeoPage<GeoNode>> cities(@PathVariable String country, @PathVariable String state,
+                                                   @RequestParam(defaultValue = "0") @Min(0) int page,
+                                                   @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) @Min(1) @Max(MAX_PAGE_SIZE) int size) {
+        LocationIndex index = searchService.getIndex();
+        int stateId = findState(index.hierarchy(), country, state);
+        if (stateId == StringIntIndex.NOT_FOUND) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(page(index.hierarchy().stateCityCount(stateId), page, size, i -> {
+            Location location = index.get(index.hierarchy().cityAt(stateId, i));
+            return new GeoNode(location.getCity(), null, null, zipCodesOf(location).size());
+        }));
+    }
+
+    /**
+     * Lists the ZIP codes of a city.
+     *
+     * @param country the country name
+     * @param state   the state name
+     * @param city    the city name
+     * @param page    zero-based page number
+     * @param size    page size, 1 to 500
+     * @return status 200 with a page of ZIP codes, or 404 if the city is not in that state
+     */
+    @GetMapping("/countries/{country}/states/{state}/cities/{city}/zips")
+    public ResponseEntity<GeoPage<String>> zips(@PathVariable String country, @PathVariable String state,
+                                                @PathVariable String city,
+                                                @RequestParam(defaultValue = "0") @Min(0) int page,
+                                                @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) @Min(1) @Max(MAX_PAGE_SIZE) int size) {
+        LocationIndex index = searchService.getIndex();
+        GeoHierarchy hierarchy = index.hierarchy();
+        int stateId = findState(hierarchy, country, state);
+        int cityId = index.idOfCity(LocationIndex.key(city.strip()));
+        if (stateId == StringIntIndex.NOT_FOUND || cityId == StringIntIndex.NOT_FOUND) {
+            return ResponseEntity.notFound().build();
+        }
+        Location location = index.get(cityId);
+        if (findState(hierarchy, nullToEmpty(location.getCountry()), nullToEmpty(location.getState())) != stateId) {
+            return ResponseEntity.notFound().build();
+        }
+        List<String> zipCodes = zipCodesOf(location);
+        return ResponseEntity.ok(page(zipCodes.size(), page, size, zipCodes::get));
+    }
+
+    private static int findState(GeoHierarchy hierarchy, String country, String state) {
+        int countryId = hierarchy.findCountry(country.strip());
+        if (countryId == StringIntIndex.NOT_FOUND) {
+            return StringIntIndex.NOT_FOUND;
+        }
+        return hierarchy.findState(countryId, state.strip());
+    }
+
+    private static <T> GeoPage<T> page(int total, int page, int size, IntFunction<T> item) {
+        int from = (int) Math.min((long) page * size, total);
+        int to = Math.min(from + size, total);
+        List<T> items = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            items.add(item.apply(i));
+        }
+        return new GeoPage<>(items, page, size, total);
+    }
+
+    private static List<String> zipCodesOf(Location location) {
+        return location.getZipCodes() == null ? List.of() : location.getZipCodes();
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+}
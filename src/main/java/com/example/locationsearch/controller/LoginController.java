@@ -1,16 +1,24 @@
 package com.example.locationsearch.controller;
 
 import com.example.locationsearch.dto.LoginRequest;
+import com.example.locationsearch.logging.AsyncRequestLogger;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpSession;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
 /**
  * Controller for handling user login and logout request.
  */
@@ -19,6 +27,15 @@ public class LoginController {
 
     private static final Logger logger = LoggerFactory.getLogger(LoginController.class);
 
+    @Autowired
+    AsyncRequestLogger requestLogger;
+
+    @Value("${search.admin.user-id:admin}")
+    String adminUserId;
+
+    @Value("${search.admin.password:}")
+    String adminPassword;
+
     /**
      * Serves the login page.
      **/
@@ -30,19 +47,38 @@ public class LoginController {
     /**
      * Processes login requests.
      * - Validates {@link LoginRequest} and logs UserId of the user
+     * - The user id search.admin.user-id is reserved: it only logs in with search.admin.password
+     *   and then gets access to the admin endpoints. Without a configured password nobody does.
+     * - A successful login gets a new session id, so a session id planted before login
+     *   (session fixation) does not carry the logged-in or admin state.
      *
      * @param loginRequest the login credentials
+     * @param request      the current request, used to renew the session id
      * @param session      the HTTP session used to store login state
      * @return a {@link ResponseEntity} with status 200 and “Login successful” when login succeeds,
-     * or status 400 with error message if credentials are invalid
+     * status 400 with error message if credentials are invalid, or status 401 for a wrong admin password
      **/
     @PostMapping("/login")
-    public ResponseEntity<String> login(@Valid @RequestBody LoginRequest loginRequest, HttpSession session) {
+    public ResponseEntity<String> login(@Valid @RequestBody LoginRequest loginRequest, HttpServletRequest request,
+                                        HttpSession session) {
+            boolean admin = adminUserId.equals(loginRequest.getUserId());
+            if (admin && !isAdminPassword(loginRequest.getPassword())) {
+                requestLogger.info(logger, "event=login_rejected user_id={}", loginRequest.getUserId());
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid credentials");
+            }
+            request.changeSessionId();
             session.setAttribute("loggedInUser", loginRequest.getUserId());
-            logger.info("User logged in: {}", loginRequest.getUserId());
+            session.setAttribute("isAdmin", admin);
+            requestLogger.info(logger, "event=login user_id={} admin={}", loginRequest.getUserId(), admin);
             return ResponseEntity.ok("Login successful");
     }
 
+    private boolean isAdminPassword(String password) {
+        // Constant-time comparison, so response times do not reveal the password prefix.
+        return !adminPassword.isEmpty() && password != null && MessageDigest.isEqual(
+                adminPassword.getBytes(StandardCharsets.UTF_8), password.getBytes(StandardCharsets.UTF_8));
+    }
+
     /**
      * Performs user logout.
      * - Logs out the current user.
@@ -52,7 +88,7 @@ public class LoginController {
     @GetMapping("/logout")
     public String logout(HttpSession session) {
         session.invalidate();
-        logger.info("Logout successful");
+        requestLogger.info(logger, "event=logout");
         return "redirect:/";
     }
 
@@ -0,0 +1,134 @@
+package com.example.locationsearch.controller;
+
+import com.example.locationsearch.model.Location;
+import com.example.locationsearch.service.LocationIndex;
+import com.example.locationsearch.service.SearchService;
+import com.example.locationsearch.service.StringIntIndex;
+import com.example.locationsearch.wire.LocationFrames;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Location lookups for other services, by ZIP code, city name or alternate city name
+ * (tried in that order).
+ * - Requires a logged-in session, enforced by LoginRequiredInterceptor.
+ * - JSON or, via the Accept and Content-Type headers, the binary {@link LocationFrames}
+ *   format. Binary responses are written from the frames stored in the index, without
+ *   encoding per request.
+ * - Batches answer every query in request order; up to {@code search.lookup.max-batch}
+ *   queries per request.
+ */
+@RestController
+@RequestMapping("/api/locations")
+public class LookupController {
+
+    @Autowired
+    SearchService searchService;
+
+    @Value("${search.lookup.max-batch:10000}")
+    int maxBatch;
+
+    /**
+     * Looks up one location as JSON.
+     *
+     * @param query a ZIP code or city name (case-insensitive)
+     * @return status 200 with the location, or 404 if nothing matches
+     */
+    @GetMapping(value = "/{query}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Location> lookup(@PathVariable String query) {
+        LocationIndex index = searchService.getIndex();
+        int id = index.resolve(query);
+        return id == StringIntIndex.NOT_FOUND ? ResponseEntity.notFound().build() : ResponseEntity.ok(index.get(id));
+    }
+
+    /**
+     * Looks up one location as a binary frame.
+     *
+     * @param query a ZIP code or city name (case-insensitive)
+     * @return status 200 with the frame, or 404 if nothing matches
+     */
+    @GetMapping(value = "/{query}", produces = LocationFrames.MEDIA_TYPE_VALUE)
+    public ResponseEntity<byte[]> lookupFrame(@PathVariable String query) {
+        LocationIndex index = searchService.getIndex();
+        int id = index.resolve(query);
+        if (id == StringIntIndex.NOT_FOUND) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok().contentType(LocationFrames.MEDIA_TYPE).body(index.frame(id));
+    }
+
+    /**
+     * Looks up a batch of locations as JSON.
+     *
+     * @param queries ZIP codes or city names
+     * @return status 200 with one location (or null) per query, or 400 if the batch is too large
+     */
+    @PostMapping(value = "/lookup", consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<Location>> lookupBatch(@RequestBody List<String> queries) {
+        if (queries.size() > maxBatch) {
+            return ResponseEntity.badRequest().build();
+        }
+        LocationIndex index = searchService.getIndex();
+        List<Location> locations = new ArrayList<>(queries.size());
+        for (String query : queries) {
+            int id = query == null ? StringIntIndex.NOT_FOUND : index.resolve(query);
+            locations.add(id == StringIntIndex.NOT_FOUND ? null : index.get(id));
+        }
+        return ResponseEntity.ok(locations);
+    }
+
+    /**
+     * Looks up a batch of locations in the binary format. The response is one frame per
+     * query, a not-found frame for queries without a location.
+     *
+     * @param request  the request carrying the encoded queries; decoded while reading, so an
+     *                 oversized batch is rejected without buffering the rest of its body
+     * @param response the response the frames are written to; status 400 if the body is
+     *                 malformed or the batch is too large
+     * @throws IOException if reading the request or writing the response fails
+     */
+    @PostMapping(value = "/lookup", consumes = LocationFrames.MEDIA_TYPE_VALUE,
+            produces = LocationFrames.MEDIA_TYPE_VALUE)
+    public void lookupBatchFrames(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        List<String> queries;
+        try {
+            queries = LocationFrames.decodeQueries(request.getInputStream(), maxBatch);
+        } catch (IllegalArgumentException e) {
+            response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            return;
+        }
+
+        LocationIndex index = searchService.getIndex();
+        byte[][] frames = new byte[queries.size()][];
+        long length = 0;
+        for (int i = 0; i < frames.length; i++) {
+            int id = index.resolve(queries.get(i));
+            frames[i] = id == StringIntIndex.NOT_FOUND ? LocationFrames.NOT_FOUND : index.frame(id);
+            length += frames[i].length;
+        }
+
+        response.setContentType(LocationFrames.MEDIA_TYPE_VALUE);
+        response.setContentLengthLong(length);
+        ServletOutputStream out = response.getOutputStream();
+        for (byte[] frame : frames) {
+            out.write(frame);
+        }
+    }
+
+}
@@ -1,16 +1,25 @@
 package com.example.locationsearch.controller;
 
+import com.example.locationsearch.analytics.QueryAnalytics;
+import com.example.locationsearch.logging.AsyncRequestLogger;
 import com.example.locationsearch.model.Location;
 import com.example.locationsearch.service.SearchService;
+import com.example.locationsearch.view.LocationFragmentCache;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.servlet.http.HttpSession;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.Duration;
 import java.util.Objects;
 
 /**
@@ -26,6 +35,18 @@ public class SearchController {
     @Autowired
     SearchService searchService;
 
+    @Autowired
+    LocationFragmentCache fragmentCache;
+
+    @Autowired
+    AsyncRequestLogger requestLogger;
+
+    @Autowired
+    QueryAnalytics queryAnalytics;
+
+    @Value("${search.cache.max-age:PT5M}")
+    Duration cacheMaxAge;
+
     /**
      * This method handles GET requests to the /search endpoint and returns the search view.
      *
@@ -37,7 +58,7 @@ public class SearchController {
     @GetMapping("/search")
     public String searchPage(HttpSession session) {
         if (session.getAttribute("loggedInUser") == null) {
-            logger.info("Unauthenticated access attempted — redirecting to /login");
+            requestLogger.info(logger, "event=unauthenticated path=/search redirect=/login");
             return "redirect:/login";
         }
         return "search";
@@ -47,21 +68,30 @@ public class SearchController {
      * This method accepts a user-provided input string via query parameter, which may represent
      * either a city name or a ZIP/postal code.
      *
-     * @param input   the search term provided by the user; must be non-empty and non-blank
-     * @param model   the Spring {@link Model} used to pass attributes to the view
-     * @param session the current {@link HttpSession} used to verify authentication
-     * @return the name of the view template to render, either /search or a redirect to /login
+     * Results only change when the location data changes, so a valid search is answered with a
+     * strong ETag built from the index version and the normalized query; a matching
+     * If-None-Match header short-circuits the lookup and rendering with 304 Not Modified.
+     *
+     * @param input      the search term provided by the user; must be non-empty and non-blank
+     * @param model      the Spring {@link Model} used to pass attributes to the view
+     * @param session    the current {@link HttpSession} used to verify authentication
+     * @param webRequest the current request, used for conditional request handling
+     * @param response   the HTTP response, used to set caching headers
+     * @return the name of the view template to render, either /search or a redirect to /login;
+     * null if the client copy is still current
      * @throws IllegalArgumentException if input validation fails
      */
     @GetMapping("/result")
     public String search(
             @RequestParam String input,
             Model model,
-            HttpSession session
+            HttpSession session,
+            WebRequest webRequest,
+            HttpServletResponse response
     ) {
         Object user = session.getAttribute("loggedInUser");
         if (user == null) {
-            logger.info("Unauthenticated access to search — redirecting to login");
+            requestLogger.info(logger, "event=unauthenticated path=/result redirect=/login");
             return "redirect:/login";
         }
         if (input == null || input.isBlank()) {
@@ -70,35 +100,52 @@ public class SearchController {
         }
 
         String normalized = input.strip();
-        logger.info("Received search request for input '{}'", normalized);
+        boolean sampled = requestLogger.sample();
+        if (sampled) {
+            requestLogger.info(logger, "event=search_received input='{}'", normalized);
+        }
 
-        if (!isValidSearchInput(normalized)) {
+        if (!SearchInput.isValid(normalized)) {
             model.addAttribute("error", "Input contains invalid characters. Only letters, numbers, spaces, and hyphens are allowed.");
             return "search";
         }
+
+        // Results are per-user pages behind a session, so only the browser may cache them.
+        response.setHeader(HttpHeaders.CACHE_CONTROL,
+                CacheControl.maxAge(cacheMaxAge).cachePrivate().getHeaderValue());
+        if (webRequest.checkNotModified(buildETag(normalized))) {
+            logger.debug("Search result for input '{}' not modified", normalized);
+            return null;
+        }
+
         Location location = searchService.findLocation(normalized);
+        queryAnalytics.record(normalized, location != null);
         if (Objects.nonNull(location)) {
-            logger.info("Found location for input '{}': {}", normalized, location);
+            if (sampled) {
+                requestLogger.info(logger, "event=search_hit input='{}' location={}", normalized, location);
+            }
             model.addAttribute("result", location);
+            model.addAttribute("resultHtml", fragmentCache.render(location));
         } else {
-            logger.info("No location found for input '{}'", normalized);
+            if (sampled) {
+                requestLogger.info(logger, "event=search_miss input='{}'", normalized);
+            }
             model.addAttribute("error", "No location found for input: " + normalized);
         }
         return "search";
     }
 
     /**
-     * Validates search input to prevent garbage inputs and improve user experience.
-     * Only allows letters, numbers, spaces, and hyphens.
+     * Builds a weak ETag for a search result from the index version and the normalized query.
+     * The query keeps its case because the "not found" message echoes it back. The ETag is weak
+     * because Tomcat does not compress responses that carry a strong one, and
+     * {@code checkNotModified} compares weakly for GET requests.
      *
-     * @param input the normalized search input to validate
-     * @return true if input contains only allowed characters, false otherwise
+     * @param normalized the stripped search input
+     * @return the weak ETag value
      */
-    private boolean isValidSearchInput(String input) {
-        if (!input.matches("^[a-zA-Z0-9\\s\\-]+$")) {
-            return false;
-        }
-
-        return input.matches(".*[a-zA-Z0-9].*");
+    private String buildETag(String normalized) {
+        return "W/\"" + Long.toHexString(searchService.getIndexVersion()) + "-"
+                + Integer.toHexString(normalized.hashCode()) + "\"";
     }
 }
@@ -0,0 +1,23 @@
+package com.example.locationsearch.controller;
+
+import java.util.regex.Pattern;
+
+/**
+ * Character rules shared by search input and city names accepted through the admin API,
+ * so that every stored city can also be searched for.
+ */
+final class SearchInput {
+    /** Letters of any script (with accents), numbers, spaces, and hyphens, with at least one letter or number. */
+    static final Pattern ALLOWED = Pattern.compile("^(?=.*[\\p{L}0-9])[\\p{L}\\p{M}0-9\\s\\-]+$");
+
+    private SearchInput() {
+    }
+
+    /**
+     * @param input the stripped input
+     * @return true if input contains only allowed characters and at least one letter or number
+     */
+    static boolean isValid(String input) {
+        return ALLOWED.matcher(input).matches();
+    }
+}
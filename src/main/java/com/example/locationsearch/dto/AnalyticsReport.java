@@ -0,0 +1,36 @@
+package com.example.locationsearch.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Data Transfer Object returned by the query analytics admin endpoint.
+ *
+ * @param totalQueries    number of answered search queries
+ * @param totalMisses     number of those queries that found no location
+ * @param distinctQueries estimated number of distinct queries
+ * @param topQueries      most frequent queries with estimated counts
+ * @param topMisses       most frequent queries that found no location
+ * @param minutes         per-minute counters of the rolling window, oldest first
+ **/
+public record AnalyticsReport(
+        long totalQueries,
+        long totalMisses,
+        long distinctQueries,
+        List<QueryCount> topQueries,
+        List<QueryCount> topMisses,
+        List<MinuteStats> minutes
+) {
+
+    /**
+     * A query with its estimated count.
+     */
+    public record QueryCount(String query, long count) {
+    }
+
+    /**
+     * Query and miss counts of one minute.
+     */
+    public record MinuteStats(Instant start, long queries, long misses, double missRate) {
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.locationsearch.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Data Transfer Object for one node of the geographic hierarchy (country, state or city)
+ * with the precomputed sizes of its subtree.
+ *
+ * @param name   display name of the node
+ * @param states number of states, only set for countries
+ * @param cities number of cities, not set for cities
+ * @param zips   number of ZIP codes
+ **/
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record GeoNode(
+        String name,
+        Integer states,
+        Integer cities,
+        int zips
+) {
+}
@@ -0,0 +1,19 @@
+package com.example.locationsearch.dto;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for one page of children in the geographic hierarchy.
+ *
+ * @param items children on this page, ordered by name
+ * @param page  zero-based page number
+ * @param size  requested page size
+ * @param total number of children across all pages
+ **/
+public record GeoPage<T>(
+        List<T> items,
+        int page,
+        int size,
+        int total
+) {
+}
@@ -0,0 +1,47 @@
+package com.example.locationsearch.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for adding or replacing a location through the admin API.
+ * The city name is taken from the request path.
+ **/
+public class LocationRequest {
+    @NotBlank(message = "State is required")
+    private String state;
+
+    @NotBlank(message = "Country is required")
+    private String country;
+
+    @NotNull(message = "ZIP codes are required")
+    private List<@NotNull(message = "ZIP codes must not be null") @Pattern(regexp = "^[A-Za-z0-9][A-Za-z0-9 \\-]*$",
+            message = "ZIP codes may only contain letters, numbers, spaces, and hyphens") String> zipCodes;
+
+    public String getState() {
+        return state;
+    }
+
+    public void setState(String state) {
+        this.state = state;
+    }
+
+    public String getCountry() {
+        return country;
+    }
+
+    public void setCountry(String country) {
+        this.country = country;
+    }
+
+    public List<String> getZipCodes() {
+        return zipCodes;
+    }
+
+    public void setZipCodes(List<String> zipCodes) {
+        this.zipCodes = zipCodes;
+    }
+}
@@ -25,4 +25,8 @@ public class LoginRequest {
         return userId;
     }
 
+    public String getPassword() {
+        return password;
+    }
+
 }
@@ -0,0 +1,29 @@
+package com.example.locationsearch.export;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Output formats of the location export.
+ */
+public enum ExportFormat {
+    /** One JSON object per line ({@code application/x-ndjson}). */
+    NDJSON(MediaType.parseMediaType("application/x-ndjson"), "ndjson"),
+    /** Comma-separated values with a header line; ZIP codes are separated by {@code ;}. */
+    CSV(MediaType.parseMediaType("text/csv;charset=UTF-8"), "csv");
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    ExportFormat(MediaType mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public MediaType mediaType() {
+        return mediaType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+}
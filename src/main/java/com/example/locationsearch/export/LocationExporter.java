@@ -0,0 +1,201 @@
+package com.example.locationsearch.export;
+
+import com.example.locationsearch.model.Location;
+import com.example.locationsearch.service.GeoHierarchy;
+import com.example.locationsearch.service.LocationIndex;
+import com.example.locationsearch.service.StringIntIndex;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Streams the locations of an index to an output stream as NDJSON or CSV.
+ * - Walks the index by id and encodes one location at a time, so memory use does not
+ *   depend on the export size. With a country or state filter only the ids of the matching
+ *   states are visited, taken from the {@link GeoHierarchy}, so a filtered export costs
+ *   O(matches) rather than O(all locations).
+ * - Flushes every {@code search.export.chunk-size} records; writes block while the client
+ *   is not reading, which throttles the export to the client's pace.
+ * - Each record carries its id. Ids are stable (snapshots store them, see {@link LocationIndex}),
+ *   so an interrupted export can resume from the last received id + 1, even on another
+ *   instance. Locations changed after the export started are exported as they were when
+ *   it started.
+ */
+@Component
+public class LocationExporter {
+    private static final JsonFactory JSON_FACTORY = JsonFactory.builder().build();
+
+    private final int chunkSize;
+
+    public LocationExporter(@Value("${search.export.chunk-size:500}") int chunkSize) {
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    /**
+     * Writes all live locations with an id of at least {@code cursor} that match the filter.
+     *
+     * @param index   the index to export
+     * @param format  the output format
+     * @param country country name to export (case-insensitive), or null for all
+     * @param state   state name to export (case-insensitive), or null for all
+     * @param cursor  the first id to export
+     * @param out     the stream to write to; it is flushed but not closed
+     * @return the number of exported locations
+     * @throws IOException if writing fails, e.g. because the client disconnected
+     */
+    public long export(LocationIndex index, ExportFormat format, String country, String state, int cursor,
+                       OutputStream out) throws IOException {
+        RecordWriter writer = format == ExportFormat.NDJSON ? new NdjsonWriter(out) : new CsvWriter(out);
+        long exported = 0;
+        if (country == null && state == null) {
+            for (int id = Math.max(0, cursor); id < index.idLimit(); id++) {
+                Location location = index.get(id);
+                if (location != null) {
+                    writer.write(id, location);
+                    if (++exported % chunkSize == 0) {
+                        writer.flush();
+                    }
+                }
+            }
+        } else {
+            int[] ids = filteredIds(index.hierarchy(), country, state);
+            int from = Arrays.binarySearch(ids, Math.max(0, cursor));
+            for (int i = from < 0 ? -from - 1 : from; i < ids.length; i++) {
+                writer.write(ids[i], index.get(ids[i]));
+                if (++exported % chunkSize == 0) {
+                    writer.flush();
+                }
+            }
+        }
+        writer.flush();
+        return exported;
+    }
+
+    /**
+     * Collects the ids of the cities in the matching states, in id order.
+     */
+    private static int[] filteredIds(GeoHierarchy hierarchy, String country, String state) {
+        IntStream.Builder ids = IntStream.builder();
+        int first = 0;
+        int last = hierarchy.countryCount() - 1;
+        if (country != null) {
+            first = last = hierarchy.findCountry(country.strip());
+        }
+        for (int countryId = first; countryId >= 0 && countryId <= last; countryId++) {
+            if (state == null) {
+                for (int i = 0; i < hierarchy.countryStateCount(countryId); i++) {
+                    addCities(hierarchy, hierarchy.stateAt(countryId, i), ids);
+                }
+            } else {
+                int stateId = hierarchy.findState(countryId, state.strip());
+                if (stateId != StringIntIndex.NOT_FOUND) {
+                    addCities(hierarchy, stateId, ids);
+                }
+            }
+        }
+        int[] sorted = ids.build().toArray();
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    private static void addCities(GeoHierarchy hierarchy, int stateId, IntStream.Builder ids) {
+        for (int i = 0; i < hierarchy.stateCityCount(stateId); i++) {
+            ids.add(hierarchy.cityAt(stateId, i));
+        }
+    }
+
+    private static List<String> zipCodesOf(Location location) {
+        return location.getZipCodes() == null ? List.of() : location.getZipCodes();
+    }
+
+    private interface RecordWriter {
+        void write(int id, Location location) throws IOException;
+
+        void flush() throws IOException;
+    }
+
+    private static final class NdjsonWriter implements RecordWriter {
+        private final JsonGenerator generator;
+
+        NdjsonWriter(OutputStream out) throws IOException {
+            generator = JSON_FACTORY.createGenerator(out, JsonEncoding.UTF8)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void write(int id, Location location) throws IOException {
+            generator.writeStartObject();
+            generator.writeNumberField("id", id);
+            generator.writeStringField("city", location.getCity());
+            generator.writeStringField("state", location.getState());
+            generator.writeStringField("country", location.getCountry());
+            generator.writeArrayFieldStart("zipCodes");
+            for (String zipCode : zipCodesOf(location)) {
+                generator.writeString(zipCode);
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            generator.flush();
+        }
+    }
+
+    private static final class CsvWriter implements RecordWriter {
+        private final Writer writer;
+
+        CsvWriter(OutputStream out) throws IOException {
+            writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            writer.write("id,city,state,country,zipCodes\n");
+        }
+
+        @Override
+        public void write(int id, Location location) throws IOException {
+            writer.write(Integer.toString(id));
+            writer.write(',');
+            writeField(location.getCity());
+            writer.write(',');
+            writeField(location.getState());
+            writer.write(',');
+            writeField(location.getCountry());
+            writer.write(',');
+            writeField(String.join(";", zipCodesOf(location)));
+            writer.write('\n');
+        }
+
+        private void writeField(String value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0
+                    && value.indexOf('\r') < 0) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writer.flush();
+        }
+    }
+}
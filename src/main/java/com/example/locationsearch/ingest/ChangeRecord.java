@@ -0,0 +1,60 @@
+package com.example.locationsearch.ingest;
+
+import com.example.locationsearch.model.Location;
+import com.example.locationsearch.service.LocationChange;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * One record of the append-only location change log.
+ * Records are tab-separated lines:
+ *  a. {@code <sequence> <epoch-millis> ADD|UPDATE <city> <state> <country> <zip>,<zip>,...}
+ *  b. {@code <sequence> <epoch-millis> DELETE <city>}
+ *
+ * @param sequence  strictly increasing record number
+ * @param timestamp when the change was written to the log
+ * @param change    the change to apply
+ */
+public record ChangeRecord(long sequence, Instant timestamp, LocationChange change) {
+
+    /**
+     * Parses a change log line.
+     *
+     * @param line the line without its line terminator
+     * @return the parsed record
+     * @throws IllegalArgumentException if the line is malformed
+     */
+    public static ChangeRecord parse(String line) {
+        String[] fields = line.split("\t", -1);
+        if (fields.length < 4) {
+            throw new IllegalArgumentException("Change record needs at least 4 fields: " + line);
+        }
+        long sequence;
+        Instant timestamp;
+        try {
+            sequence = Long.parseLong(fields[0]);
+            timestamp = Instant.ofEpochMilli(Long.parseLong(fields[1]));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid sequence or timestamp: " + line, e);
+        }
+        String city = fields[3].strip();
+        if (city.isEmpty()) {
+            throw new IllegalArgumentException("Change record without city: " + line);
+        }
+        return switch (fields[2]) {
+            case "ADD", "UPDATE" -> {
+                if (fields.length != 7) {
+                    throw new IllegalArgumentException("Upsert record needs 7 fields: " + line);
+                }
+                List<String> zipCodes = fields[6].isBlank() ? List.of()
+                        : Arrays.stream(fields[6].split(",")).map(String::strip).toList();
+                yield new ChangeRecord(sequence, timestamp, LocationChange.upsert(
+                        new Location(city, zipCodes, fields[4].strip(), fields[5].strip())));
+            }
+            case "DELETE" -> new ChangeRecord(sequence, timestamp, LocationChange.delete(city));
+            default -> throw new IllegalArgumentException("Unknown change operation: " + fields[2]);
+        };
+    }
+}
@@ -0,0 +1,240 @@
+package com.example.locationsearch.ingest;
+
+import com.example.locationsearch.logging.AsyncRequestLogger;
+import com.example.locationsearch.service.LocationChange;
+import com.example.locationsearch.service.SearchService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Applies the location change log to the running index instead of rebuilding it.
+ * - Polls the append-only change file (see {@link ChangeRecord} for the format) and applies
+ *   new complete lines to {@link SearchService} in batches, one index copy per batch.
+ * - Records at or below the applied sequence are skipped, so the log can be replayed from
+ *   the start after a restart; re-applying a record is harmless as every change is idempotent.
+ * - After search.delta.compact-every applied records, and on shutdown, the index is written
+ *   as the new base snapshot (search.index.snapshot). The snapshot stores the sequence it
+ *   contains, so a restarted instance resumes from exactly that point. Until the first
+ *   compaction the snapshot file may not exist; {@link SearchService} then starts from its
+ *   built-in data.
+ * - Exposes applied/rejected counters, compactions, ingest lag and pending bytes as metrics.
+ */
+@Service
+public class DeltaIngestService {
+    private static final Logger logger = LoggerFactory.getLogger(DeltaIngestService.class);
+
+    @Autowired
+    SearchService searchService;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Autowired
+    AsyncRequestLogger requestLogger;
+
+    @Value("${search.delta.file:}")
+    String changeFile;
+
+    @Value("${search.index.snapshot:}")
+    String snapshotLocation;
+
+    @Value("${search.delta.batch-size:10000}")
+    int batchSize;
+
+    @Value("${search.delta.compact-every:10000}")
+    long compactEvery;
+
+    private long offset;
+    private long appliedSinceCompaction;
+    private volatile long pendingBytes;
+    private volatile Instant lastAppliedTimestamp;
+    private Counter appliedCounter;
+    private Counter rejectedCounter;
+    private Counter compactionCounter;
+    private Timer lagTimer;
+
+    /**
+     * Registers the ingest metrics.
+     */
+    @PostConstruct
+    public void registerMetrics() {
+        appliedCounter = Counter.builder("search.delta.applied")
+                .description("Change log records applied to the index").register(meterRegistry);
+        rejectedCounter = Counter.builder("search.delta.rejected")
+                .description("Malformed change log lines skipped").register(meterRegistry);
+        compactionCounter = Counter.builder("search.delta.compactions")
+                .description("Base snapshots written").register(meterRegistry);
+        lagTimer = Timer.builder("search.delta.lag")
+                .description("Time from a change being logged to it being applied").register(meterRegistry);
+        Gauge.builder("search.delta.sequence", searchService, SearchService::getAppliedSequence)
+                .description("Sequence number of the last applied change").register(meterRegistry);
+        Gauge.builder("search.delta.pending.bytes", this, s -> s.pendingBytes)
+                .description("Bytes of the change log not yet read").baseUnit("bytes").register(meterRegistry);
+        Gauge.builder("search.delta.lag.current", this, DeltaIngestService::currentLagSeconds)
+                .description("Age of the last applied change while changes are pending").baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Scheduled poll of the change log; does nothing unless search.delta.file is set.
+     */
+    @Scheduled(fixedDelayString = "${search.delta.poll-interval:PT10S}")
+    public void poll() {
+        if (changeFile.isBlank()) {
+            return;
+        }
+        try {
+            int applied;
+            do {
+                applied = ingest();
+            } while (applied == batchSize);
+            if (compactEvery > 0 && appliedSinceCompaction >= compactEvery) {
+                compact();
+            }
+        } catch (IOException e) {
+            logger.warn("Change log ingest from {} failed: {}", changeFile, e.toString());
+        }
+    }
+
+    /**
+     * Reads up to one batch of new change log records and applies them.
+     *
+     * @return the number of records applied
+     * @throws IOException if the change log cannot be read
+     */
+    synchronized int ingest() throws IOException {
+        Path path = Path.of(changeFile);
+        if (!Files.exists(path)) {
+            pendingBytes = 0;
+            return 0;
+        }
+        List<ChangeRecord> batch = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < offset) {
+                logger.warn("Change log {} shrank from {} to {} bytes, reading it again from the start",
+                        changeFile, offset, size);
+                offset = 0;
+            }
+            channel.position(offset);
+            InputStream in = new BufferedInputStream(Channels.newInputStream(channel));
+            ByteArrayOutputStream line = new ByteArrayOutputStream();
+            long position = offset;
+            long applied = searchService.getAppliedSequence();
+            int b;
+            while (batch.size() < batchSize && (b = in.read()) != -1) {
+                position++;
+                if (b != '\n') {
+                    line.write(b);
+                    continue;
+                }
+                // Only complete lines are consumed; a partially written last line is read next time.
+                offset = position;
+                String text = line.toString(StandardCharsets.UTF_8).strip();
+                line.reset();
+                if (text.isEmpty()) {
+                    continue;
+                }
+                try {
+                    ChangeRecord record = ChangeRecord.parse(text);
+                    if (record.sequence() > applied) {
+                        batch.add(record);
+                        applied = record.sequence();
+                    }
+                } catch (IllegalArgumentException e) {
+                    rejectedCounter.increment();
+                    logger.warn("Skipping malformed change record: {}", e.getMessage());
+                }
+            }
+            pendingBytes = size - offset;
+        }
+        if (!batch.isEmpty()) {
+            apply(batch);
+        }
+        return batch.size();
+    }
+
+    /**
+     * Writes the current index as the new base snapshot, if a writable snapshot file is configured.
+     *
+     * @throws IOException if the snapshot cannot be written
+     */
+    synchronized void compact() throws IOException {
+        if (snapshotLocation.isBlank() || snapshotLocation.startsWith("classpath:")) {
+            logger.debug("No writable search.index.snapshot configured, skipping compaction");
+            return;
+        }
+        Path target = Path.of(snapshotLocation.startsWith("file:")
+                ? snapshotLocation.substring("file:".length()) : snapshotLocation);
+        long sequence = searchService.writeSnapshot(target);
+        appliedSinceCompaction = 0;
+        compactionCounter.increment();
+        requestLogger.info(logger, "event=delta_compaction snapshot={} sequence={}", target, sequence);
+    }
+
+    /**
+     * Compacts on shutdown so that a restart replays as little of the change log as possible.
+     */
+    @PreDestroy
+    public void compactOnShutdown() {
+        if (changeFile.isBlank() || appliedSinceCompaction == 0) {
+            return;
+        }
+        try {
+            compact();
+        } catch (IOException e) {
+            logger.warn("Compaction on shutdown failed: {}", e.toString());
+        }
+    }
+
+    private void apply(List<ChangeRecord> batch) {
+        List<LocationChange> changes = new ArrayList<>(batch.size());
+        for (ChangeRecord record : batch) {
+            changes.add(record.change());
+        }
+        ChangeRecord last = batch.get(batch.size() - 1);
+        searchService.apply(changes, last.sequence());
+
+        Instant now = Instant.now();
+        for (ChangeRecord record : batch) {
+            lagTimer.record(Duration.between(record.timestamp(), now));
+        }
+        lastAppliedTimestamp = last.timestamp();
+        appliedCounter.increment(batch.size());
+        appliedSinceCompaction += batch.size();
+        requestLogger.info(logger, "event=delta_applied records={} sequence={}", batch.size(), last.sequence());
+    }
+
+    private double currentLagSeconds() {
+        Instant last = lastAppliedTimestamp;
+        if (pendingBytes == 0 || last == null) {
+            return 0;
+        }
+        return Duration.between(last, Instant.now()).toMillis() / 1000.0;
+    }
+}
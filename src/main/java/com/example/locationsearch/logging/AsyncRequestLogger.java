@@ -0,0 +1,165 @@
+package com.example.locationsearch.logging;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Writes per-request log lines off the request thread.
+ * - Log calls only enqueue the format and arguments into a bounded buffer; a background
+ *   writer thread formats and emits them, so argument toString() runs on the writer only.
+ * - When the buffer is full the entry is dropped and counted instead of blocking the request.
+ *   Dropped and written lines are exported as the counters request.log.dropped and
+ *   request.log.written (bound as a {@link MeterBinder}), so overflow can be alerted on.
+ * - {@link #sample()} decides once per request whether its log lines are kept, according to
+ *   the configured sample rate.
+ * - {@link #setPaused(boolean)} discards lines while paused, e.g. during the startup warm-up,
+ *   whose synthetic requests would otherwise flood the request log.
+ */
+@Component
+public class AsyncRequestLogger implements MeterBinder {
+    private static final Logger logger = LoggerFactory.getLogger(AsyncRequestLogger.class);
+
+    private static final int DRAIN_BATCH = 256;
+
+    private final BlockingQueue<Entry> buffer;
+    private final double sampleRate;
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private volatile boolean paused;
+    private long reportedDropped;
+    private Thread writer;
+
+    public AsyncRequestLogger(@Value("${request-log.buffer-size:8192}") int bufferSize,
+                              @Value("${request-log.sample-rate:1.0}") double sampleRate) {
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        this.sampleRate = sampleRate;
+    }
+
+    /**
+     * Starts the background writer thread.
+     */
+    @PostConstruct
+    public void start() {
+        writer = new Thread(this::drainLoop, "request-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Stops the writer thread and flushes whatever is still buffered.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        writer.interrupt();
+        writer.join();
+    }
+
+    /**
+     * Decides whether the log lines of the current request are kept.
+     *
+     * @return true if the request is sampled
+     */
+    public boolean sample() {
+        return sampleRate >= 1.0 || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+
+    /**
+     * Queues an INFO line for the given logger. Nothing is queued if INFO is disabled for it.
+     *
+     * @param target the logger the line is written to
+     * @param format an SLF4J format string
+     * @param args   the format arguments; formatted on the writer thread
+     */
+    public void info(Logger target, String format, Object... args) {
+        if (paused || !target.isInfoEnabled()) {
+            return;
+        }
+        if (!buffer.offer(new Entry(target, format, args))) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    /**
+     * Pauses or resumes request logging; lines logged while paused are discarded, not counted
+     * as dropped.
+     *
+     * @param paused true to pause, false to resume
+     */
+    public void setPaused(boolean paused) {
+        this.paused = paused;
+    }
+
+    /**
+     * Registers the dropped and written counters.
+     *
+     * @param registry the registry to register with
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("request.log.dropped", dropped, AtomicLong::get)
+                .description("Request log lines dropped because the buffer was full").register(registry);
+        FunctionCounter.builder("request.log.written", written, AtomicLong::get)
+                .description("Request log lines written by the background writer").register(registry);
+    }
+
+    /**
+     * @return the number of log lines dropped because the buffer was full
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * @return the number of log lines written by the background writer
+     */
+    public long getWrittenCount() {
+        return written.get();
+    }
+
+    private void drainLoop() {
+        List<Entry> batch = new ArrayList<>(DRAIN_BATCH);
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                batch.add(buffer.take());
+                buffer.drainTo(batch, DRAIN_BATCH - 1);
+                write(batch);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        buffer.drainTo(batch);
+        write(batch);
+    }
+
+    private void write(List<Entry> batch) {
+        for (Entry entry : batch) {
+            entry.target().info(entry.format(), entry.args());
+        }
+        written.addAndGet(batch.size());
+        batch.clear();
+
+        long droppedNow = dropped.get();
+        if (droppedNow != reportedDropped) {
+            logger.warn("event=request_log_overflow dropped={} total_dropped={}",
+                    droppedNow - reportedDropped, droppedNow);
+            reportedDropped = droppedNow;
+        }
+    }
+
+    private record Entry(Logger target, String format, Object[] args) {
+    }
+}
@@ -0,0 +1,306 @@
+package com.example.locationsearch.service;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Immutable dictionary of alternate city names (exonyms, historical names, abbreviations)
+ * pointing at canonical city names.
+ * - Alias keys are stored as UTF-8 in one shared byte pool; each alias is an int entry with
+ *   parallel arrays for its pool offset, target, language and kind, so an alias costs a few
+ *   dozen bytes instead of String and map-entry objects.
+ * - Targets are numbered canonical city keys; {@link LocationIndex} resolves each target
+ *   number to a location id, so an alias lookup is one probe of the open-addressing table
+ *   followed by two array reads. A reverse table from city key to target number lets the
+ *   index re-resolve only the targets of cities that changed.
+ * - When an alias is listed more than once, the first entry wins.
+ * Aliases are read from tab-separated lines {@code <alias> <city> [<language> [<kind>]]},
+ * where kind is {@code alt} (default), {@code hist} or {@code abbr}; {@code #} starts a comment.
+ */
+public final class AliasDictionary {
+    /** Returned by {@link #find(String)} for unknown aliases. */
+    public static final int NOT_FOUND = -1;
+
+    static final AliasDictionary EMPTY = new Builder().build();
+
+    /**
+     * What kind of name an alias is.
+     */
+    public enum Kind {
+        /** A name in another language or an alternate spelling. */
+        ALTERNATE("alt"),
+        /** A former name. */
+        HISTORICAL("hist"),
+        /** An abbreviation or code. */
+        ABBREVIATION("abbr");
+
+        private final String code;
+
+        Kind(String code) {
+            this.code = code;
+        }
+
+        static Kind ofCode(String code) {
+            for (Kind kind : values()) {
+                if (kind.code.equals(code)) {
+                    return kind;
+                }
+            }
+            throw new IllegalArgumentException("Unknown alias kind: " + code);
+        }
+    }
+
+    private final byte[] pool;
+    private final int[] offsets;
+    private final int[] targets;
+    private final short[] languages;
+    private final byte[] kinds;
+    private final String[] targetKeys;
+    private final StringIntIndex targetNumbers;
+    private final String[] languageTags;
+    private final int[] table;
+    private final long checksum;
+
+    private AliasDictionary(byte[] pool, int[] offsets, int[] targets, short[] languages, byte[] kinds,
+                            String[] targetKeys, StringIntIndex targetNumbers, String[] languageTags, int[] table,
+                            long checksum) {
+        this.pool = pool;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.languages = languages;
+        this.kinds = kinds;
+        this.targetKeys = targetKeys;
+        this.targetNumbers = targetNumbers;
+        this.languageTags = languageTags;
+        this.table = table;
+        this.checksum = checksum;
+    }
+
+    /**
+     * Reads a dictionary from tab-separated lines.
+     *
+     * @param in the UTF-8 input; it is not closed
+     * @return the dictionary
+     * @throws IOException              if reading fails
+     * @throws IllegalArgumentException if a line is malformed
+     */
+    public static AliasDictionary read(InputStream in) throws IOException {
+        Builder builder = new Builder();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        int lineNumber = 0;
+        for (String line; (line = reader.readLine()) != null; ) {
+            lineNumber++;
+            if (line.isBlank() || line.startsWith("#")) {
+                continue;
+            }
+            String[] fields = line.split("\t", -1);
+            if (fields.length < 2 || fields.length > 4 || fields[0].isBlank() || fields[1].isBlank()) {
+                throw new IllegalArgumentException("Alias line " + lineNumber + " needs alias and city: " + line);
+            }
+            String language = fields.length > 2 ? fields[2].strip() : "";
+            Kind kind = fields.length > 3 && !fields[3].isBlank() ? Kind.ofCode(fields[3].strip()) : Kind.ALTERNATE;
+            builder.add(fields[0], fields[1], language, kind);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Normalizes an alias or city name into its lookup key: stripped, lowercased and in
+     * Unicode NFC, so composed and decomposed spellings of "München" match.
+     *
+     * @param value the raw name
+     * @return the key
+     */
+    public static String key(String value) {
+        String lower = value.strip().toLowerCase(Locale.ROOT);
+        return Normalizer.isNormalized(lower, Normalizer.Form.NFC) ? lower
+                : Normalizer.normalize(lower, Normalizer.Form.NFC);
+    }
+
+    /**
+     * @param name an alias (case-insensitive)
+     * @return the entry of the alias, or {@link #NOT_FOUND}
+     */
+    public int find(String name) {
+        byte[] key = key(name).getBytes(StandardCharsets.UTF_8);
+        int mask = table.length - 1;
+        for (int slot = hash(key, 0, key.length) & mask; ; slot = (slot + 1) & mask) {
+            int entry = table[slot] - 1;
+            if (entry < 0) {
+                return NOT_FOUND;
+            }
+            if (Arrays.equals(pool, offsets[entry], offsets[entry + 1], key, 0, key.length)) {
+                return entry;
+            }
+        }
+    }
+
+    /**
+     * @return the number of aliases
+     */
+    public int size() {
+        return targets.length;
+    }
+
+    /**
+     * @param entry an entry returned by {@link #find(String)}
+     * @return the lookup key of the alias
+     */
+    public String alias(int entry) {
+        return new String(pool, offsets[entry], offsets[entry + 1] - offsets[entry], StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @param entry an entry returned by {@link #find(String)}
+     * @return the target number of the alias, below {@link #targetCount()}
+     */
+    public int target(int entry) {
+        return targets[entry];
+    }
+
+    /**
+     * @param entry an entry returned by {@link #find(String)}
+     * @return the language tag of the alias, empty if none was given
+     */
+    public String language(int entry) {
+        return languageTags[languages[entry]];
+    }
+
+    /**
+     * @param entry an entry returned by {@link #find(String)}
+     * @return the kind of the alias
+     */
+    public Kind kind(int entry) {
+        return Kind.values()[kinds[entry]];
+    }
+
+    /**
+     * @return the number of distinct canonical cities the aliases point at
+     */
+    public int targetCount() {
+        return targetKeys.length;
+    }
+
+    /**
+     * @param target a target number below {@link #targetCount()}
+     * @return the city key ({@link LocationIndex#key(String)}) of the target
+     */
+    public String targetKey(int target) {
+        return targetKeys[target];
+    }
+
+    /**
+     * @param cityKey a city key ({@link LocationIndex#key(String)})
+     * @return the target number of that city, or {@link #NOT_FOUND} if no alias points at it
+     */
+    public int targetOf(String cityKey) {
+        return targetNumbers.get(cityKey);
+    }
+
+    /**
+     * @return a content hash of all entries, stable across runs
+     */
+    public long checksum() {
+        return checksum;
+    }
+
+    private static int hash(byte[] bytes, int from, int to) {
+        int h = 0x811C9DC5;
+        for (int i = from; i < to; i++) {
+            h = (h ^ (bytes[i] & 0xFF)) * 0x01000193;
+        }
+        h *= 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Collects aliases into growable arrays and builds the hash table once at the end.
+     */
+    public static final class Builder {
+        private final ByteArrayOutputStream pool = new ByteArrayOutputStream();
+        private int[] offsets = new int[17];
+        private int[] targets = new int[16];
+        private short[] languages = new short[16];
+        private byte[] kinds = new byte[16];
+        private final Map<String, Integer> targetNumbers = new HashMap<>();
+        private final Map<String, Integer> languageNumbers = new HashMap<>();
+        private int size;
+        private long checksum = 17;
+
+        /**
+         * @param alias    the alternate name
+         * @param city     the canonical city name it stands for
+         * @param language the language tag, empty if none
+         * @param kind     the kind of name
+         * @return this builder
+         */
+        public Builder add(String alias, String city, String language, Kind kind) {
+            if (size == targets.length) {
+                int capacity = size * 2;
+                offsets = Arrays.copyOf(offsets, capacity + 1);
+                targets = Arrays.copyOf(targets, capacity);
+                languages = Arrays.copyOf(languages, capacity);
+                kinds = Arrays.copyOf(kinds, capacity);
+            }
+            String aliasKey = key(alias);
+            String cityKey = LocationIndex.key(city.strip());
+            String tag = language.strip().toLowerCase(Locale.ROOT);
+            pool.writeBytes(aliasKey.getBytes(StandardCharsets.UTF_8));
+            offsets[size + 1] = pool.size();
+            targets[size] = targetNumbers.computeIfAbsent(cityKey, k -> targetNumbers.size());
+            int languageNumber = languageNumbers.computeIfAbsent(tag, k -> languageNumbers.size());
+            if (languageNumber > Short.MAX_VALUE) {
+                throw new IllegalArgumentException("Too many distinct language tags");
+            }
+            languages[size] = (short) languageNumber;
+            kinds[size] = (byte) kind.ordinal();
+            size++;
+            checksum = 31 * checksum + (aliasKey + '\t' + cityKey + '\t' + tag + '\t' + kind).hashCode();
+            return this;
+        }
+
+        /**
+         * @return the dictionary; the builder must not be used afterwards
+         */
+        public AliasDictionary build() {
+            byte[] bytes = pool.toByteArray();
+            int capacity = Integer.highestOneBit(Math.max(4, size) * 2 - 1) << 1;
+            int[] table = new int[capacity];
+            int mask = capacity - 1;
+            for (int entry = 0; entry < size; entry++) {
+                int from = offsets[entry];
+                int to = offsets[entry + 1];
+                for (int slot = hash(bytes, from, to) & mask; ; slot = (slot + 1) & mask) {
+                    int existing = table[slot] - 1;
+                    if (existing < 0) {
+                        table[slot] = entry + 1;
+                        break;
+                    }
+                    if (Arrays.equals(bytes, offsets[existing], offsets[existing + 1], bytes, from, to)) {
+                        break;
+                    }
+                }
+            }
+            String[] targetKeys = new String[targetNumbers.size()];
+            StringIntIndex.Editor targetIndex = StringIntIndex.empty().edit();
+            targetNumbers.forEach((key, number) -> {
+                targetKeys[number] = key;
+                targetIndex.put(key, number);
+            });
+            String[] languageTags = new String[languageNumbers.size()];
+            languageNumbers.forEach((tag, number) -> languageTags[number] = tag);
+            return new AliasDictionary(bytes, Arrays.copyOf(offsets, size + 1), Arrays.copyOf(targets, size),
+                    Arrays.copyOf(languages, size), Arrays.copyOf(kinds, size), targetKeys, targetIndex.build(),
+                    languageTags, table, checksum);
+        }
+    }
+}
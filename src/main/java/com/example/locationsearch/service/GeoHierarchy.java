@@ -0,0 +1,368 @@
+package com.example.locationsearch.service;
+
+import com.example.locationsearch.model.Location;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Country → state → city → ZIP hierarchy over the locations of a {@link LocationIndex}.
+ * - Countries and states are numbered; children are stored as int arrays of state ids
+ *   (per country) and location ids (per state), sorted by name.
+ * - City, state and ZIP counts are precomputed, so drill-down queries cost O(children)
+ *   and counts O(1) instead of scanning every location.
+ * - ZIP counts add up the ZIP lists of the locations; {@link LocationIndex} keeps those
+ *   lists free of repeats and of ZIP codes owned by another location.
+ * - Immutable; {@link #apply(Location[], Location[], int[])} derives the hierarchy of the
+ *   next index from the changed ids, rebuilding only the states they touch. Missing state
+ *   or country names are grouped under an empty name.
+ */
+public final class GeoHierarchy {
+    private static final char KEY_SEPARATOR = '\u001F';
+
+    static final GeoHierarchy EMPTY = assemble(List.of());
+
+    private final String[] countryNames;
+    private final int[][] countryStates;
+    private final int[] countryCityCounts;
+    private final int[] countryZipCounts;
+    private final String[] stateNames;
+    private final int[] stateCountries;
+    private final int[][] stateCities;
+    private final int[] stateZipCounts;
+    private final StringIntIndex countryIndex;
+    private final StringIntIndex stateIndex;
+
+    private GeoHierarchy(String[] countryNames, int[][] countryStates, int[] countryCityCounts,
+                         int[] countryZipCounts, String[] stateNames, int[] stateCountries, int[][] stateCities,
+                         int[] stateZipCounts, StringIntIndex countryIndex, StringIntIndex stateIndex) {
+        this.countryNames = countryNames;
+        this.countryStates = countryStates;
+        this.countryCityCounts = countryCityCounts;
+        this.countryZipCounts = countryZipCounts;
+        this.stateNames = stateNames;
+        this.stateCountries = stateCountries;
+        this.stateCities = stateCities;
+        this.stateZipCounts = stateZipCounts;
+        this.countryIndex = countryIndex;
+        this.stateIndex = stateIndex;
+    }
+
+    /**
+     * Builds the hierarchy for locations stored by id.
+     *
+     * @param locations locations by id; null entries are retired ids
+     * @return the hierarchy
+     */
+    static GeoHierarchy build(Location[] locations) {
+        int[] ids = new int[locations.length];
+        for (int id = 0; id < ids.length; id++) {
+            ids[id] = id;
+        }
+        return EMPTY.apply(new Location[0], locations, ids);
+    }
+
+    /**
+     * Derives the hierarchy after some locations changed. Only the states that lost or gained
+     * a city get a new city array; the arrays of all other states are shared with this
+     * hierarchy. Country and state ids stay the same unless a country or state was added or
+     * emptied, in which case they are renumbered in name order, still without touching the
+     * cities of unchanged states.
+     *
+     * @param previous   locations by id before the change
+     * @param locations  locations by id after the change; null entries are retired ids
+     * @param changedIds ids that were added, replaced or retired, in any order
+     * @return the hierarchy; this hierarchy is unchanged
+     */
+    GeoHierarchy apply(Location[] previous, Location[] locations, int[] changedIds) {
+        int[] changed = Arrays.stream(changedIds).sorted().distinct().toArray();
+        // Names of new countries and states keep the spelling seen first, in id order.
+        Map<String, String> displayNames = new HashMap<>();
+        Map<String, List<Integer>> added = new HashMap<>();
+        Set<String> touched = new LinkedHashSet<>();
+        for (int id : changed) {
+            Location before = id < previous.length ? previous[id] : null;
+            if (before != null) {
+                touched.add(stateKey(LocationIndex.key(nameOf(before.getCountry())), nameOf(before.getState())));
+            }
+            Location after = locations[id];
+            if (after != null) {
+                String country = nameOf(after.getCountry());
+                String countryKey = LocationIndex.key(country);
+                String stateKey = stateKey(countryKey, nameOf(after.getState()));
+                displayNames.putIfAbsent(countryKey, country);
+                displayNames.putIfAbsent(stateKey, nameOf(after.getState()));
+                touched.add(stateKey);
+                added.computeIfAbsent(stateKey, k -> new ArrayList<>()).add(id);
+            }
+        }
+
+        int[][] nextStateCities = stateCities.clone();
+        int[] nextStateZipCounts = stateZipCounts.clone();
+        List<State> newStates = new ArrayList<>();
+        Set<Integer> touchedCountries = new HashSet<>();
+        boolean reshaped = false;
+        for (String stateKey : touched) {
+            int state = stateIndex.get(stateKey);
+            int[] kept = state == StringIntIndex.NOT_FOUND ? new int[0] : without(stateCities[state], changed);
+            int[] cities = merge(kept, added.getOrDefault(stateKey, List.of()), locations);
+            int zips = zipCount(cities, locations);
+            if (state == StringIntIndex.NOT_FOUND) {
+                String countryKey = stateKey.substring(0, stateKey.indexOf(KEY_SEPARATOR));
+                int country = countryIndex.get(countryKey);
+                newStates.add(new State(country == StringIntIndex.NOT_FOUND
+                        ? displayNames.get(countryKey) : countryNames[country],
+                        displayNames.get(stateKey), cities, zips));
+                reshaped = true;
+            } else {
+                nextStateCities[state] = cities;
+                nextStateZipCounts[state] = zips;
+                touchedCountries.add(stateCountries[state]);
+                reshaped |= cities.length == 0;
+            }
+        }
+        if (reshaped) {
+            List<State> states = new ArrayList<>(stateNames.length + newStates.size());
+            for (int state = 0; state < stateNames.length; state++) {
+                if (nextStateCities[state].length > 0) {
+                    states.add(new State(countryNames[stateCountries[state]], stateNames[state],
+                            nextStateCities[state], nextStateZipCounts[state]));
+                }
+            }
+            states.addAll(newStates);
+            return assemble(states);
+        }
+
+        int[] nextCountryCityCounts = countryCityCounts.clone();
+        int[] nextCountryZipCounts = countryZipCounts.clone();
+        for (int country : touchedCountries) {
+            int cities = 0;
+            int zips = 0;
+            for (int state : countryStates[country]) {
+                cities += nextStateCities[state].length;
+                zips += nextStateZipCounts[state];
+            }
+            nextCountryCityCounts[country] = cities;
+            nextCountryZipCounts[country] = zips;
+        }
+        return new GeoHierarchy(countryNames, countryStates, nextCountryCityCounts, nextCountryZipCounts,
+                stateNames, stateCountries, nextStateCities, nextStateZipCounts, countryIndex, stateIndex);
+    }
+
+    /**
+     * A non-empty state with its cities, used while numbering countries and states.
+     */
+    private record State(String countryName, String name, int[] cities, int zips) {
+    }
+
+    /**
+     * Numbers countries and states in name order; the city arrays of the states are used as they are.
+     */
+    private static GeoHierarchy assemble(List<State> states) {
+        Map<String, List<State>> grouped = new HashMap<>();
+        for (State state : states) {
+            grouped.computeIfAbsent(LocationIndex.key(state.countryName()), k -> new ArrayList<>()).add(state);
+        }
+        List<List<State>> countries = new ArrayList<>(grouped.values());
+        countries.sort(Comparator.comparing(country -> country.get(0).countryName()));
+
+        String[] countryNames = new String[countries.size()];
+        int[][] countryStates = new int[countries.size()][];
+        int[] countryCityCounts = new int[countries.size()];
+        int[] countryZipCounts = new int[countries.size()];
+        String[] stateNames = new String[states.size()];
+        int[] stateCountries = new int[states.size()];
+        int[][] stateCities = new int[states.size()][];
+        int[] stateZipCounts = new int[states.size()];
+        StringIntIndex.Editor countryIndex = StringIntIndex.empty().edit();
+        StringIntIndex.Editor stateIndex = StringIntIndex.empty().edit();
+
+        int stateId = 0;
+        for (int countryId = 0; countryId < countries.size(); countryId++) {
+            List<State> countryStateList = countries.get(countryId);
+            countryStateList.sort(Comparator.comparing(State::name));
+            String countryKey = LocationIndex.key(countryStateList.get(0).countryName());
+            countryNames[countryId] = countryStateList.get(0).countryName();
+            countryIndex.put(countryKey, countryId);
+            countryStates[countryId] = new int[countryStateList.size()];
+            for (int i = 0; i < countryStateList.size(); i++, stateId++) {
+                State state = countryStateList.get(i);
+                stateNames[stateId] = state.name();
+                stateCountries[stateId] = countryId;
+                stateIndex.put(stateKey(countryKey, state.name()), stateId);
+                countryStates[countryId][i] = stateId;
+                stateCities[stateId] = state.cities();
+                stateZipCounts[stateId] = state.zips();
+                countryCityCounts[countryId] += state.cities().length;
+                countryZipCounts[countryId] += state.zips();
+            }
+        }
+        return new GeoHierarchy(countryNames, countryStates, countryCityCounts, countryZipCounts, stateNames,
+                stateCountries, stateCities, stateZipCounts, countryIndex.build(), stateIndex.build());
+    }
+
+    private static String stateKey(String countryKey, String stateName) {
+        return countryKey + KEY_SEPARATOR + LocationIndex.key(stateName);
+    }
+
+    /**
+     * @return the cities not in the sorted array of removed ids, in their order
+     */
+    private static int[] without(int[] cities, int[] removed) {
+        int[] kept = new int[cities.length];
+        int size = 0;
+        for (int id : cities) {
+            if (Arrays.binarySearch(removed, id) < 0) {
+                kept[size++] = id;
+            }
+        }
+        return size == cities.length ? cities : Arrays.copyOf(kept, size);
+    }
+
+    /**
+     * Merges cities sorted by name with added cities in any order.
+     */
+    private static int[] merge(int[] sorted, List<Integer> added, Location[] locations) {
+        if (added.isEmpty()) {
+            return sorted;
+        }
+        Comparator<Integer> byCity = Comparator.comparing(id -> locations[id].getCity());
+        added.sort(byCity);
+        int[] merged = new int[sorted.length + added.size()];
+        int i = 0;
+        int j = 0;
+        for (int k = 0; k < merged.length; k++) {
+            if (j == added.size() || i < sorted.length && byCity.compare(sorted[i], added.get(j)) < 0) {
+                merged[k] = sorted[i++];
+            } else {
+                merged[k] = added.get(j++);
+            }
+        }
+        return merged;
+    }
+
+    private static int zipCount(int[] cities, Location[] locations) {
+        int zips = 0;
+        for (int id : cities) {
+            zips += locations[id].getZipCodes() == null ? 0 : locations[id].getZipCodes().size();
+        }
+        return zips;
+    }
+
+    /**
+     * @param name a country name (case-insensitive)
+     * @return the country id, or {@link StringIntIndex#NOT_FOUND}
+     */
+    public int findCountry(String name) {
+        return countryIndex.get(LocationIndex.key(name));
+    }
+
+    /**
+     * @param country a country id
+     * @param name    a state name within that country (case-insensitive)
+     * @return the state id, or {@link StringIntIndex#NOT_FOUND}
+     */
+    public int findState(int country, String name) {
+        return stateIndex.get(stateKey(LocationIndex.key(countryNames[country]), name));
+    }
+
+    /**
+     * @return the number of countries; country ids are 0 to countryCount() - 1, ordered by name
+     */
+    public int countryCount() {
+        return countryNames.length;
+    }
+
+    /**
+     * @param country a country id
+     * @return the country name, as first spelled
+     */
+    public String countryName(int country) {
+        return countryNames[country];
+    }
+
+    /**
+     * @param country a country id
+     * @return the number of states of the country
+     */
+    public int countryStateCount(int country) {
+        return countryStates[country].length;
+    }
+
+    /**
+     * @param country a country id
+     * @return the number of cities in all states of the country
+     */
+    public int countryCityCount(int country) {
+        return countryCityCounts[country];
+    }
+
+    /**
+     * @param country a country id
+     * @return the number of ZIP codes of all cities of the country
+     */
+    public int countryZipCount(int country) {
+        return countryZipCounts[country];
+    }
+
+    /**
+     * @param country a country id
+     * @param index   position among the country's states, ordered by name
+     * @return the state id
+     */
+    public int stateAt(int country, int index) {
+        return countryStates[country][index];
+    }
+
+    /**
+     * @param state a state id
+     * @return the state name, as first spelled
+     */
+    public String stateName(int state) {
+        return stateNames[state];
+    }
+
+    /**
+     * @param state a state id
+     * @return the id of the country the state belongs to
+     */
+    public int stateCountry(int state) {
+        return stateCountries[state];
+    }
+
+    /**
+     * @param state a state id
+     * @return the number of cities of the state
+     */
+    public int stateCityCount(int state) {
+        return stateCities[state].length;
+    }
+
+    /**
+     * @param state a state id
+     * @return the number of ZIP codes of all cities of the state
+     */
+    public int stateZipCount(int state) {
+        return stateZipCounts[state];
+    }
+
+    /**
+     * @param state a state id
+     * @param index position among the state's cities, ordered by name
+     * @return the location id of the city
+     */
+    public int cityAt(int state, int index) {
+        return stateCities[state][index];
+    }
+
+    private static String nameOf(String value) {
+        return value == null ? "" : value.strip();
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.locationsearch.service;
+
+import com.example.locationsearch.model.Location;
+
+/**
+ * A single change to the location data: add or replace a location, or retire one by city.
+ *
+ * @param city     the city name identifying the location (case-insensitive)
+ * @param location the new location for an upsert; null for a delete
+ */
+public record LocationChange(String city, Location location) {
+
+    /**
+     * @param location the location to add, or to replace the location with the same city
+     * @return an upsert change
+     */
+    public static LocationChange upsert(Location location) {
+        return new LocationChange(location.getCity(), location);
+    }
+
+    /**
+     * @param city the city whose location is retired
+     * @return a delete change
+     */
+    public static LocationChange delete(String city) {
+        return new LocationChange(city, null);
+    }
+
+    /**
+     * @return true if this change retires a location
+     */
+    public boolean isDelete() {
+        return location == null;
+    }
+}
@@ -0,0 +1,464 @@
+package com.example.locationsearch.service;
+
+import com.example.locationsearch.model.Location;
+import com.example.locationsearch.wire.LocationFrames;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * Immutable snapshot of all lookup structures over the location data.
+ * - Every location has an int id; ids are assigned in insertion order and never reused,
+ *   a retired location leaves an empty slot. {@link LocationSnapshot} stores the ids, so
+ *   they survive restarts and compaction, and instances applying the same changes to the
+ *   same snapshot assign the same ids.
+ * - City names and ZIP codes (lowercased) map to ids through {@link StringIntIndex} tables.
+ *   A ZIP code belongs to one location and is listed once: repeated ZIP codes are dropped
+ *   when a location is stored, and a ZIP code of another location is removed from that
+ *   location's ZIP list and frame in the same step. ZIP lists therefore add up to the ZIP
+ *   index, which the {@link GeoHierarchy} counts rely on.
+ * - Alternate names of an {@link AliasDictionary} resolve to ids through one int per
+ *   aliased city; a change re-resolves only the entries of the cities it touches.
+ * - A {@link GeoHierarchy} groups the ids by country and state; a change rebuilds only the
+ *   states it touches.
+ * - Every location is also kept encoded as a {@link LocationFrames} frame, encoded once
+ *   when the location is stored, so binary lookups write it without re-encoding.
+ * - The version is a checksum of the live locations and the alias dictionary, independent of
+ *   the order in which locations were added, so an index restored from a snapshot reports
+ *   the same version as one that applied the same changes live.
+ * - {@link #apply(Collection)} derives the next snapshot; an instance never changes once
+ *   built, so it can be read by any number of threads without locking.
+ */
+public final class LocationIndex {
+    private static final LocationIndex EMPTY = new LocationIndex(new Location[0], new Location[0],
+            new byte[0][], StringIntIndex.empty(), StringIntIndex.empty(), AliasDictionary.EMPTY, new int[0],
+            GeoHierarchy.EMPTY, 0, 0);
+
+    private final Location[] locations;
+    private final Location[] zipViews;
+    private final byte[][] frames;
+    private final StringIntIndex cityIndex;
+    private final StringIntIndex zipIndex;
+    private final AliasDictionary aliases;
+    private final int[] aliasTargets;
+    private final GeoHierarchy hierarchy;
+    private final int size;
+    private final long checksum;
+
+    private LocationIndex(Location[] locations, Location[] zipViews, byte[][] frames, StringIntIndex cityIndex,
+                          StringIntIndex zipIndex, AliasDictionary aliases, int[] aliasTargets,
+                          GeoHierarchy hierarchy, int size, long checksum) {
+        this.locations = locations;
+        this.zipViews = zipViews;
+        this.frames = frames;
+        this.cityIndex = cityIndex;
+        this.zipIndex = zipIndex;
+        this.aliases = aliases;
+        this.aliasTargets = aliasTargets;
+        this.hierarchy = hierarchy;
+        this.size = size;
+        this.checksum = checksum;
+    }
+
+    /**
+     * @return an index without locations
+     */
+    public static LocationIndex empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Builds an index with locations at given ids, as stored in a {@link LocationSnapshot}.
+     *
+     * @param idLimit   one past the highest id ever assigned
+     * @param ids       the id of each location, distinct and below idLimit
+     * @param locations the locations
+     * @return the index, without aliases
+     * @throws IllegalArgumentException if an id is out of range or used twice, or a city appears twice
+     */
+    static LocationIndex restore(int idLimit, int[] ids, List<Location> locations) {
+        Location[] byId = new Location[idLimit];
+        Location[] zipViews = new Location[idLimit];
+        byte[][] frames = new byte[idLimit][];
+        StringIntIndex.Editor cities = StringIntIndex.empty().edit();
+        StringIntIndex.Editor zips = StringIntIndex.empty().edit();
+        long checksum = 0;
+        for (int i = 0; i < ids.length; i++) {
+            int id = ids[i];
+            Location location = locations.get(i);
+            if (id < 0 || id >= idLimit || byId[id] != null) {
+                throw new IllegalArgumentException("Invalid or duplicate location id " + id);
+            }
+            String cityKey = key(location.getCity());
+            if (cities.get(cityKey) != StringIntIndex.NOT_FOUND) {
+                throw new IllegalArgumentException("Duplicate city " + location.getCity());
+            }
+            cities.put(cityKey, id);
+            store(id, location, byId, zipViews, frames, zips);
+            checksum += checksum(location);
+        }
+        StringIntIndex builtCities = cities.build();
+        return new LocationIndex(byId, zipViews, frames, builtCities, zips.build(), AliasDictionary.EMPTY,
+                resolveAliases(AliasDictionary.EMPTY, builtCities), GeoHierarchy.build(byId), ids.length, checksum);
+    }
+
+    /**
+     * Normalizes a city name or ZIP code into its lookup key.
+     *
+     * @param value the raw value
+     * @return the lowercased key
+     */
+    public static String key(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Looks up a location by ZIP code. Like the original zipMap, the result carries city,
+     * state and country but not the list of ZIP codes.
+     *
+     * @param key a key produced by {@link #key(String)}
+     * @return the location, or null if the ZIP code is unknown
+     */
+    public Location findByZip(String key) {
+        int id = zipIndex.get(key);
+        return id == StringIntIndex.NOT_FOUND ? null : zipViews[id];
+    }
+
+    /**
+     * Looks up a location by city name.
+     *
+     * @param key a key produced by {@link #key(String)}
+     * @return the location, or null if the city is unknown
+     */
+    public Location findByCity(String key) {
+        int id = cityIndex.get(key);
+        return id == StringIntIndex.NOT_FOUND ? null : locations[id];
+    }
+
+    /**
+     * Looks up a location by one of its alternate names.
+     *
+     * @param name the alternate name (case-insensitive)
+     * @return the location, or null if the name is unknown or its city is not loaded
+     */
+    public Location findByAlias(String name) {
+        int id = idOfAlias(name);
+        return id == StringIntIndex.NOT_FOUND ? null : locations[id];
+    }
+
+    /**
+     * @param name an alternate name (case-insensitive)
+     * @return the id of the location it names, or {@link StringIntIndex#NOT_FOUND}
+     */
+    public int idOfAlias(String name) {
+        int entry = aliases.find(name);
+        return entry == AliasDictionary.NOT_FOUND ? StringIntIndex.NOT_FOUND : aliasTargets[aliases.target(entry)];
+    }
+
+    /**
+     * @return the alias dictionary of this index
+     */
+    public AliasDictionary aliases() {
+        return aliases;
+    }
+
+    /**
+     * @param key a key produced by {@link #key(String)}
+     * @return the id of the city, or {@link StringIntIndex#NOT_FOUND}
+     */
+    public int idOfCity(String key) {
+        return cityIndex.get(key);
+    }
+
+    /**
+     * @param key a key produced by {@link #key(String)}
+     * @return the id of the location owning the ZIP code, or {@link StringIntIndex#NOT_FOUND}
+     */
+    public int idOfZip(String key) {
+        return zipIndex.get(key);
+    }
+
+    /**
+     * Resolves a query the way lookups do: as a ZIP code, then a city name, then an
+     * alternate city name.
+     *
+     * @param query a ZIP code, city name or alternate name (case-insensitive)
+     * @return the id of the matching location, or {@link StringIntIndex#NOT_FOUND}
+     */
+    public int resolve(String query) {
+        String key = key(query.strip());
+        int id = zipIndex.get(key);
+        if (id == StringIntIndex.NOT_FOUND) {
+            id = cityIndex.get(key);
+        }
+        return id != StringIntIndex.NOT_FOUND ? id : idOfAlias(query);
+    }
+
+    /**
+     * @param id a location id below {@link #idLimit()}
+     * @return the location with that id, or null if it was retired
+     */
+    public Location get(int id) {
+        return locations[id];
+    }
+
+    /**
+     * @param id a location id below {@link #idLimit()}
+     * @return the encoded frame of the location with that id, or null if it was retired;
+     * the array is shared and must not be modified
+     */
+    public byte[] frame(int id) {
+        return frames[id];
+    }
+
+    /**
+     * @return the country → state → city hierarchy of this index
+     */
+    public GeoHierarchy hierarchy() {
+        return hierarchy;
+    }
+
+    /**
+     * @return one past the highest id ever assigned
+     */
+    public int idLimit() {
+        return locations.length;
+    }
+
+    /**
+     * @return the number of live locations
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the number of indexed ZIP codes
+     */
+    public int zipCount() {
+        return zipIndex.size();
+    }
+
+    /**
+     * @return a version stamp; it is derived from the content only, so instances holding
+     * the same locations and aliases report the same version however they got there
+     */
+    public long version() {
+        return 31 * checksum + aliases.checksum();
+    }
+
+    /**
+     * @return all live locations in id order
+     */
+    public List<Location> locations() {
+        List<Location> live = new ArrayList<>(size);
+        for (Location location : locations) {
+            if (location != null) {
+                live.add(location);
+            }
+        }
+        return live;
+    }
+
+    /**
+     * @return all city and ZIP keys
+     */
+    public List<String> keys() {
+        List<String> keys = new ArrayList<>(cityIndex.size() + zipIndex.size());
+        cityIndex.forEach((key, id) -> keys.add(key));
+        zipIndex.forEach((key, id) -> keys.add(key));
+        return keys;
+    }
+
+    /**
+     * @return the keys of all aliases whose city is loaded
+     */
+    public List<String> aliasKeys() {
+        List<String> keys = new ArrayList<>(aliases.size());
+        for (int entry = 0; entry < aliases.size(); entry++) {
+            if (aliasTargets[aliases.target(entry)] != StringIntIndex.NOT_FOUND) {
+                keys.add(aliases.alias(entry));
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Returns an index with the same locations and the given alias dictionary. The version
+     * changes with the dictionary, since the same query may now find a location.
+     *
+     * @param dictionary the aliases to resolve
+     * @return the new index; this index is unchanged
+     */
+    public LocationIndex withAliases(AliasDictionary dictionary) {
+        return new LocationIndex(locations, zipViews, frames, cityIndex, zipIndex, dictionary,
+                resolveAliases(dictionary, cityIndex), hierarchy, size, checksum);
+    }
+
+    /**
+     * Applies changes in order and returns the resulting index. All arrays and tables are
+     * copied once per call, so callers should batch changes where possible.
+     *
+     * @param changes the changes to apply
+     * @return the new index; this index is unchanged
+     */
+    public LocationIndex apply(Collection<LocationChange> changes) {
+        Location[] nextLocations = Arrays.copyOf(locations, locations.length + changes.size());
+        Location[] nextZipViews = Arrays.copyOf(zipViews, nextLocations.length);
+        byte[][] nextFrames = Arrays.copyOf(frames, nextLocations.length);
+        StringIntIndex.Editor cities = cityIndex.edit();
+        StringIntIndex.Editor zips = zipIndex.edit();
+        int[] nextAliasTargets = aliasTargets;
+        IntStream.Builder changedIds = IntStream.builder();
+        int nextId = locations.length;
+        int nextSize = size;
+        long nextChecksum = checksum;
+
+        for (LocationChange change : changes) {
+            String cityKey = key(change.city());
+            int id = cities.get(cityKey);
+            if (id != StringIntIndex.NOT_FOUND) {
+                removeZips(zips, nextLocations[id], id);
+                nextChecksum -= checksum(nextLocations[id]);
+            }
+            if (change.isDelete()) {
+                if (id != StringIntIndex.NOT_FOUND) {
+                    cities.remove(cityKey);
+                    nextLocations[id] = null;
+                    nextZipViews[id] = null;
+                    nextFrames[id] = null;
+                    nextSize--;
+                    changedIds.add(id);
+                    nextAliasTargets = retarget(nextAliasTargets, cityKey, StringIntIndex.NOT_FOUND);
+                }
+                continue;
+            }
+            if (id == StringIntIndex.NOT_FOUND) {
+                id = nextId++;
+                cities.put(cityKey, id);
+                nextSize++;
+            }
+            Location location = withDistinctZips(change.location());
+            if (location.getZipCodes() != null) {
+                for (String zip : location.getZipCodes()) {
+                    String zipKey = key(zip);
+                    int owner = zips.get(zipKey);
+                    if (owner == StringIntIndex.NOT_FOUND || owner == id) {
+                        continue;
+                    }
+                    Location reduced = withoutZip(nextLocations[owner], zipKey);
+                    nextChecksum += checksum(reduced) - checksum(nextLocations[owner]);
+                    nextLocations[owner] = reduced;
+                    nextFrames[owner] = LocationFrames.encode(owner, reduced);
+                    zips.remove(zipKey);
+                    changedIds.add(owner);
+                }
+            }
+            changedIds.add(id);
+            store(id, location, nextLocations, nextZipViews, nextFrames, zips);
+            nextChecksum += checksum(location);
+            nextAliasTargets = retarget(nextAliasTargets, cityKey, id);
+        }
+
+        Location[] builtLocations = Arrays.copyOf(nextLocations, nextId);
+        StringIntIndex builtCities = cities.build();
+        return new LocationIndex(builtLocations, Arrays.copyOf(nextZipViews, nextId), Arrays.copyOf(nextFrames, nextId),
+                builtCities, zips.build(), aliases, nextAliasTargets,
+                hierarchy.apply(locations, builtLocations, changedIds.build().toArray()),
+                nextSize, nextChecksum);
+    }
+
+    private static void store(int id, Location location, Location[] locations, Location[] zipViews,
+                              byte[][] frames, StringIntIndex.Editor zips) {
+        locations[id] = location;
+        zipViews[id] = new Location(location.getCity(), location.getState(), location.getCountry());
+        frames[id] = LocationFrames.encode(id, location);
+        if (location.getZipCodes() != null) {
+            for (String zip : location.getZipCodes()) {
+                zips.put(key(zip), id);
+            }
+        }
+    }
+
+    /**
+     * Hashes one location into 64 bits. The index checksum is the sum over all live locations,
+     * so it can be updated per change and does not depend on their order.
+     */
+    private static long checksum(Location location) {
+        long h = 0xCBF29CE484222325L;
+        String text = location.toString();
+        for (int i = 0; i < text.length(); i++) {
+            h = (h ^ text.charAt(i)) * 0x100000001B3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        return h ^ (h >>> 33);
+    }
+
+    /**
+     * Points the aliases of a city at its new id. The resolved targets are copied on the first
+     * change of a batch that affects them and patched in place afterwards.
+     */
+    private int[] retarget(int[] targets, String cityKey, int id) {
+        int target = aliases.targetOf(cityKey);
+        if (target == AliasDictionary.NOT_FOUND || targets[target] == id) {
+            return targets;
+        }
+        int[] next = targets == aliasTargets ? aliasTargets.clone() : targets;
+        next[target] = id;
+        return next;
+    }
+
+    private static int[] resolveAliases(AliasDictionary dictionary, StringIntIndex cities) {
+        int[] resolved = new int[dictionary.targetCount()];
+        for (int target = 0; target < resolved.length; target++) {
+            resolved[target] = cities.get(dictionary.targetKey(target));
+        }
+        return resolved;
+    }
+
+    private static Location withDistinctZips(Location location) {
+        List<String> zipCodes = location.getZipCodes();
+        if (zipCodes == null || zipCodes.size() < 2) {
+            return location;
+        }
+        Set<String> seen = new HashSet<>();
+        List<String> distinct = new ArrayList<>(zipCodes.size());
+        for (String zip : zipCodes) {
+            if (seen.add(key(zip))) {
+                distinct.add(zip);
+            }
+        }
+        return distinct.size() == zipCodes.size() ? location
+                : new Location(location.getCity(), List.copyOf(distinct), location.getState(), location.getCountry());
+    }
+
+    private static Location withoutZip(Location location, String zipKey) {
+        List<String> remaining = new ArrayList<>(location.getZipCodes().size() - 1);
+        for (String zip : location.getZipCodes()) {
+            if (!key(zip).equals(zipKey)) {
+                remaining.add(zip);
+            }
+        }
+        return new Location(location.getCity(), List.copyOf(remaining), location.getState(), location.getCountry());
+    }
+
+    private static void removeZips(StringIntIndex.Editor zips, Location location, int id) {
+        if (location.getZipCodes() == null) {
+            return;
+        }
+        for (String zip : location.getZipCodes()) {
+            String zipKey = key(zip);
+            // A ZIP code may have been taken over by another location since; leave that mapping alone.
+            if (zips.get(zipKey) == id) {
+                zips.remove(zipKey);
+            }
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.locationsearch.service;
+
+import com.example.locationsearch.model.Location;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Binary snapshot format of the location data, so that an instance can load a prebuilt
+ * index instead of building it from source data at startup.
+ * Layout (big-endian, strings as modified UTF-8):
+ *  a. header — magic "LOCS", format version, change log sequence (since version 2),
+ *     id limit (since version 3), location count
+ *  b. per location — id (since version 3), city, state, country (each preceded by a presence
+ *     flag), ZIP count, ZIPs
+ * Location ids are stored, so that ids handed out to clients (export cursors, binary frames)
+ * stay valid when an instance restarts from a compacted snapshot. Older snapshots number
+ * their locations in file order.
+ */
+public final class LocationSnapshot {
+    private static final int MAGIC = 0x4C4F4353;
+    private static final int FORMAT_VERSION = 3;
+
+    private LocationSnapshot() {
+    }
+
+    /**
+     * Contents of a snapshot.
+     *
+     * @param sequence  sequence number of the last change log record included, 0 if none
+     * @param idLimit   one past the highest id ever assigned, so retired ids are not reused
+     * @param ids       the id of each location, ascending
+     * @param locations the locations in the order they were written
+     */
+    public record Contents(long sequence, int idLimit, int[] ids, List<Location> locations) {
+
+        /**
+         * @return an index with the locations at their ids
+         */
+        public LocationIndex toIndex() {
+            return LocationIndex.restore(idLimit, ids, locations);
+        }
+    }
+
+    /**
+     * Writes the live locations of an index with their ids to a stream in snapshot format.
+     * The stream is flushed but not closed.
+     *
+     * @param index    the index to write
+     * @param sequence sequence number of the last change log record included
+     * @param out      the target stream
+     * @throws IOException if writing fails
+     */
+    public static void write(LocationIndex index, long sequence, OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+        data.writeInt(MAGIC);
+        data.writeInt(FORMAT_VERSION);
+        data.writeLong(sequence);
+        data.writeInt(index.idLimit());
+        data.writeInt(index.size());
+        for (int id = 0; id < index.idLimit(); id++) {
+            Location location = index.get(id);
+            if (location == null) {
+                continue;
+            }
+            data.writeInt(id);
+            writeNullable(data, location.getCity());
+            writeNullable(data, location.getState());
+            writeNullable(data, location.getCountry());
+            List<String> zipCodes = location.getZipCodes() == null ? List.of() : location.getZipCodes();
+            data.writeInt(zipCodes.size());
+            for (String zip : zipCodes) {
+                data.writeUTF(zip);
+            }
+        }
+        data.flush();
+    }
+
+    /**
+     * Reads a snapshot from a stream. The stream is not closed.
+     *
+     * @param in the source stream
+     * @return the snapshot contents
+     * @throws IOException if reading fails or the stream is not a supported snapshot
+     */
+    public static Contents read(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(new BufferedInputStream(in));
+        if (data.readInt() != MAGIC) {
+            throw new IOException("Not a location snapshot");
+        }
+        int formatVersion = data.readInt();
+        if (formatVersion < 1 || formatVersion > FORMAT_VERSION) {
+            throw new IOException("Unsupported location snapshot version " + formatVersion);
+        }
+        long sequence = formatVersion >= 2 ? data.readLong() : 0;
+        int idLimit = formatVersion >= 3 ? data.readInt() : -1;
+        int count = data.readInt();
+        if (idLimit == -1) {
+            idLimit = count;
+        }
+        int[] ids = new int[count];
+        List<Location> locations = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids[i] = formatVersion >= 3 ? data.readInt() : i;
+            if (ids[i] < 0 || ids[i] >= idLimit || i > 0 && ids[i] <= ids[i - 1]) {
+                throw new IOException("Invalid location id " + ids[i] + " in snapshot");
+            }
+            String city = readNullable(data);
+            String state = readNullable(data);
+            String country = readNullable(data);
+            int zipCount = data.readInt();
+            List<String> zipCodes = new ArrayList<>(zipCount);
+            for (int z = 0; z < zipCount; z++) {
+                zipCodes.add(data.readUTF());
+            }
+            locations.add(new Location(city, zipCodes, state, country));
+        }
+        return new Contents(sequence, idLimit, ids, locations);
+    }
+
+    private static void writeNullable(DataOutputStream data, String value) throws IOException {
+        data.writeBoolean(value != null);
+        if (value != null) {
+            data.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(DataInputStream data) throws IOException {
+        return data.readBoolean() ? data.readUTF() : null;
+    }
+}
@@ -4,46 +4,210 @@ import com.example.locationsearch.model.Location;
 import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.util.ResourceUtils;
 
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Service class responsible for location lookup based on city names or ZIP/postal codes.
- * This class maintains two in-memory maps:
- *  a. cityMap — keyed by city name
- *  b. zipMap — keyed by ZIP code
- * It provides methods to initialize location data and perform lookup operations.
+ * This class maintains an immutable {@link LocationIndex} with two lookup tables:
+ *  a. city index — keyed by city name
+ *  b. ZIP index — keyed by ZIP code
+ * It provides methods to initialize location data, perform lookup operations and change
+ * individual locations online. Lookups read the current index without locking; changes
+ * build a new index and publish it atomically (copy-on-write).
+ * When search.index.snapshot is set, the data is loaded from that prebuilt binary
+ * {@link LocationSnapshot} (a file path or a classpath: location) instead of the built-in list.
+ * With delta ingest (search.delta.file) the snapshot is also the compaction target, so a
+ * snapshot file that does not exist yet falls back to the built-in list; the first
+ * compaction creates it.
+ * Alternate names (e.g. "München", "Wien") are read from search.aliases.location into an
+ * {@link AliasDictionary} and searched after ZIP codes and city names.
  */
 @Service
 public class SearchService {
     private static final Logger logger = LoggerFactory.getLogger(SearchService.class);
 
-    private final Map<String, Location> cityMap = new HashMap<>();
-    private final Map<String, Location> zipMap = new HashMap<>();
+    private volatile LocationIndex index = LocationIndex.empty();
+    private volatile long appliedSequence;
+
+    @Value("${search.index.snapshot:}")
+    String snapshotLocation;
+
+    @Value("${search.aliases.location:}")
+    String aliasesLocation;
+
+    @Value("${search.delta.file:}")
+    String changeFile;
 
     /**
-     * Initializes the in-memory maps after bean construction and creates two in-memory maps:
-     *  a. cityMap — keyed by city name
-     *  b. zipMap — keyed by ZIP code
+     * Initializes the in-memory index after bean construction, with two lookup tables:
+     *  a. city index — keyed by city name
+     *  b. ZIP index — keyed by ZIP code
      */
     @PostConstruct
     public void init() {
 
-        List<Location> locations = loadLocationData();
-        for (Location location : locations) {
-            cityMap.put(location.getCity().toLowerCase(), location);
-            for (String zip : location.getZipCodes()) {
-                zipMap.put(zip.toLowerCase(), new Location(location.getCity(), location.getState(),
-                        location.getCountry()));
-            }
+        LocationIndex loaded;
+        if (snapshotLocation == null || snapshotLocation.isBlank()) {
+            loaded = builtInIndex();
+            appliedSequence = 0;
+        } else if (changeFile != null && !changeFile.isBlank() && isMissingFile(snapshotLocation)) {
+            logger.info("Snapshot {} does not exist yet, starting from the built-in locations;"
+                    + " the first compaction creates it", snapshotLocation);
+            loaded = builtInIndex();
+            appliedSequence = 0;
+        } else {
+            LocationSnapshot.Contents snapshot = readSnapshot(snapshotLocation);
+            loaded = snapshot.toIndex();
+            appliedSequence = snapshot.sequence();
+        }
+        if (aliasesLocation != null && !aliasesLocation.isBlank()) {
+            loaded = loaded.withAliases(readAliases(aliasesLocation));
         }
-        logger.debug("Location data initialized with {} cities and {} ZIP mappings",
-                cityMap.size(), zipMap.size());
+        index = loaded;
+        logger.debug("Location data initialized with {} cities, {} ZIP mappings and {} aliases",
+                loaded.size(), loaded.zipCount(), loaded.aliases().size());
+    }
+
+    /**
+     * Adds a location, or replaces the location with the same city name (case-insensitive).
+     *
+     * @param location the location to store
+     */
+    public void upsert(Location location) {
+        apply(List.of(LocationChange.upsert(location)));
+    }
+
+    /**
+     * Retires the location with the given city name and all its ZIP codes.
+     *
+     * @param city the city name (case-insensitive)
+     * @return true if a location was retired, false if the city was unknown
+     */
+    public synchronized boolean delete(String city) {
+        if (index.idOfCity(LocationIndex.key(city)) == StringIntIndex.NOT_FOUND) {
+            return false;
+        }
+        apply(List.of(LocationChange.delete(city)));
+        return true;
+    }
+
+    /**
+     * Applies a batch of changes in order and publishes the resulting index in one step,
+     * so readers see either none or all of the batch.
+     *
+     * @param changes the changes to apply
+     */
+    public synchronized void apply(List<LocationChange> changes) {
+        index = index.apply(changes);
+    }
+
+    /**
+     * Applies a batch of change log records and remembers the sequence number of the last one,
+     * in the same step, so that a snapshot never claims changes it does not contain.
+     *
+     * @param changes  the changes to apply
+     * @param sequence the sequence number of the last record in the batch
+     */
+    public synchronized void apply(List<LocationChange> changes, long sequence) {
+        apply(changes);
+        appliedSequence = sequence;
+    }
+
+    /**
+     * @return the sequence number of the last change log record applied, 0 if none
+     */
+    public long getAppliedSequence() {
+        return appliedSequence;
+    }
+
+    /**
+     * @return the current index; it never changes, later updates publish a new one
+     */
+    public LocationIndex getIndex() {
+        return index;
+    }
+
+    /**
+     * Reads the location data from a prebuilt snapshot. A missing or unreadable snapshot
+     * fails startup rather than serving an empty index.
+     */
+    private LocationSnapshot.Contents readSnapshot(String location) {
+        try (InputStream in = ResourceUtils.getURL(location).openStream()) {
+            LocationSnapshot.Contents snapshot = LocationSnapshot.read(in);
+            logger.info("Loaded {} locations up to change sequence {} from snapshot {}",
+                    snapshot.locations().size(), snapshot.sequence(), location);
+            return snapshot;
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read location snapshot " + location, e);
+        }
+    }
+
+    private LocationIndex builtInIndex() {
+        return LocationIndex.empty().apply(loadLocationData().stream().map(LocationChange::upsert).toList());
+    }
+
+    private static boolean isMissingFile(String location) {
+        if (location.startsWith(ResourceUtils.CLASSPATH_URL_PREFIX)) {
+            return false;
+        }
+        try {
+            return !ResourceUtils.getFile(location).exists();
+        } catch (FileNotFoundException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Reads the alias dictionary. Like a snapshot, a missing or malformed dictionary fails
+     * startup rather than silently serving fewer names.
+     */
+    private AliasDictionary readAliases(String location) {
+        try (InputStream in = ResourceUtils.getURL(location).openStream()) {
+            AliasDictionary aliases = AliasDictionary.read(in);
+            logger.info("Loaded {} aliases for {} cities from {}", aliases.size(), aliases.targetCount(), location);
+            return aliases;
+        } catch (IOException | IllegalArgumentException e) {
+            throw new IllegalStateException("Cannot read aliases " + location, e);
+        }
+    }
+
+    /**
+     * Writes the currently loaded locations with their ids and the applied change sequence to a snapshot file.
+     * The file is written next to the target and then moved into place, so readers never see
+     * a partial snapshot. Missing parent directories are created.
+     *
+     * @param target the snapshot file to create or replace
+     * @return the change sequence recorded in the snapshot
+     * @throws IOException if the snapshot cannot be written
+     */
+    public long writeSnapshot(Path target) throws IOException {
+        LocationIndex current;
+        long sequence;
+        synchronized (this) {
+            current = index;
+            sequence = appliedSequence;
+        }
+        Path directory = target.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, "snapshot", ".tmp");
+        try (OutputStream out = Files.newOutputStream(temp)) {
+            LocationSnapshot.write(current, sequence, out);
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return sequence;
     }
 
     /**
@@ -157,20 +321,54 @@ public class SearchService {
         return locations;
     }
 
+    /**
+     * Returns a version stamp of the loaded location data. The value is derived from the
+     * current locations and aliases only, so every instance serving the same data reports the
+     * same version, whether it loaded a compacted snapshot or applied the changes itself.
+     *
+     * @return the current index version
+     */
+    public long getIndexVersion() {
+        return index.version();
+    }
+
+    /**
+     * Returns every key the service can answer: all city names and ZIP codes, lowercased.
+     *
+     * @return a new list of search keys
+     */
+    public List<String> getSearchKeys() {
+        return index.keys();
+    }
+
+    /**
+     * Returns every alternate city name the service can answer, lowercased. These are kept
+     * apart from {@link #getSearchKeys()} because they resolve through the alias fallback.
+     *
+     * @return a new list of alias keys
+     */
+    public List<String> getAliasKeys() {
+        return index.aliasKeys();
+    }
+
     /**
      * Searches for a {@link Location} based on the provided input string.
      *
-     * @param input the search key, which may be a ZIP code or city name; must not be null
+     * @param input the search key, which may be a ZIP code, city name or alternate city name; must not be null
      * @return the matching {@link Location} if found; otherwise, an empty {@link Location}
      */
     public Location findLocation(String input) {
         logger.debug("Finding location for input {}", input);
         Location location = null;
         if (input != null) {
-            if (zipMap.containsKey(input.toLowerCase())) {
-                location = zipMap.get(input.toLowerCase());
-            } else if (cityMap.containsKey(input.toLowerCase())) {
-                location = cityMap.get(input.toLowerCase());
+            LocationIndex current = index;
+            String key = LocationIndex.key(input);
+            location = current.findByZip(key);
+            if (location == null) {
+                location = current.findByCity(key);
+            }
+            if (location == null) {
+                location = current.findByAlias(input);
             }
         }
         return location;
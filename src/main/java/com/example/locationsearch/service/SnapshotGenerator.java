@@ -0,0 +1,60 @@
+package com.example.locationsearch.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Command-line snapshot generator: with {@code --search.index.write-snapshot=<file>} the
+ * application writes the loaded index as a {@link LocationSnapshot} to that file and exits
+ * instead of serving requests. The cds and native Maven profiles run it at build time to
+ * put {@code index.bin} on the classpath, to be loaded with
+ * {@code search.index.snapshot=classpath:index.bin}.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty("search.index.write-snapshot")
+public class SnapshotGenerator implements ApplicationRunner {
+    private static final Logger logger = LoggerFactory.getLogger(SnapshotGenerator.class);
+
+    @Autowired
+    SearchService searchService;
+
+    @Autowired
+    ConfigurableApplicationContext context;
+
+    @Value("${search.index.write-snapshot}")
+    String target;
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        generate();
+        System.exit(SpringApplication.exit(context, () -> 0));
+    }
+
+    /**
+     * Writes the snapshot; missing parent directories are created.
+     *
+     * @return the written snapshot file
+     * @throws IOException if the snapshot cannot be written
+     */
+    Path generate() throws IOException {
+        Path file = Path.of(target).toAbsolutePath();
+        long sequence = searchService.writeSnapshot(file);
+        logger.info("Wrote snapshot of {} locations up to change sequence {} to {}",
+                searchService.getIndex().size(), sequence, file);
+        return file;
+    }
+}
@@ -0,0 +1,218 @@
+package com.example.locationsearch.service;
+
+import java.util.Arrays;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Immutable open-addressing hash table mapping string keys to non-negative int ids.
+ * - Keys and ids live in two parallel arrays probed linearly, so a lookup is a hash, a few
+ *   array reads and one equals() on a hit — no per-entry node objects.
+ * - Instances are never modified once published. Writers derive a new table with
+ *   {@link #with(String, int)} / {@link #without(String)} (copy-on-write), so readers holding
+ *   a reference need no synchronization and never wait.
+ * - The table is kept at most half full, which bounds probe sequences for misses.
+ */
+public final class StringIntIndex {
+    /** Returned by {@link #get(String)} for absent keys. */
+    public static final int NOT_FOUND = -1;
+
+    private static final StringIntIndex EMPTY = new StringIntIndex(new String[8], new int[8], 0);
+
+    private final String[] keys;
+    private final int[] ids;
+    private final int size;
+
+    private StringIntIndex(String[] keys, int[] ids, int size) {
+        this.keys = keys;
+        this.ids = ids;
+        this.size = size;
+    }
+
+    /**
+     * @return an empty index
+     */
+    public static StringIntIndex empty() {
+        return EMPTY;
+    }
+
+    /**
+     * @param key the key to look up; must not be null
+     * @return the id mapped to the key, or {@link #NOT_FOUND}
+     */
+    public int get(String key) {
+        String[] k = keys;
+        int mask = k.length - 1;
+        for (int slot = mix(key.hashCode()) & mask; ; slot = (slot + 1) & mask) {
+            String candidate = k[slot];
+            if (candidate == null) {
+                return NOT_FOUND;
+            }
+            if (candidate.equals(key)) {
+                return ids[slot];
+            }
+        }
+    }
+
+    /**
+     * @return the number of keys in the index
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Calls the consumer for every key and id, in table order.
+     *
+     * @param consumer receives each key and its id
+     */
+    public void forEach(ObjIntConsumer<String> consumer) {
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != null) {
+                consumer.accept(keys[slot], ids[slot]);
+            }
+        }
+    }
+
+    /**
+     * Returns an index with the key mapped to the given id, replacing any previous mapping.
+     *
+     * @param key the key; must not be null
+     * @param id  the id; must not be negative
+     * @return a new index; this index is unchanged
+     */
+    public StringIntIndex with(String key, int id) {
+        return edit().put(key, id).build();
+    }
+
+    /**
+     * Returns an index without the key.
+     *
+     * @param key the key to remove
+     * @return a new index, or this index if the key is absent
+     */
+    public StringIntIndex without(String key) {
+        return get(key) == NOT_FOUND ? this : edit().remove(key).build();
+    }
+
+    /**
+     * Starts a batch of changes applied to one private copy of this index.
+     *
+     * @return an editor seeded with the current entries
+     */
+    public Editor edit() {
+        return new Editor(Arrays.copyOf(keys, keys.length), Arrays.copyOf(ids, ids.length), size);
+    }
+
+    private static int mix(int hash) {
+        // Spreads String.hashCode() so that similar keys (e.g. consecutive ZIP codes) do not cluster.
+        int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Mutable working copy used to apply several changes with a single copy of the arrays.
+     * Not thread-safe; {@link #build()} publishes the result as a new immutable index.
+     */
+    public static final class Editor {
+        private String[] keys;
+        private int[] ids;
+        private int size;
+        private boolean built;
+
+        private Editor(String[] keys, int[] ids, int size) {
+            this.keys = keys;
+            this.ids = ids;
+            this.size = size;
+        }
+
+        /**
+         * @param key the key to look up
+         * @return the id currently mapped to the key in this working copy, or {@link #NOT_FOUND}
+         */
+        public int get(String key) {
+            int slot = find(key);
+            return keys[slot] == null ? NOT_FOUND : ids[slot];
+        }
+
+        /**
+         * Maps the key to the id, replacing any previous mapping.
+         */
+        public Editor put(String key, int id) {
+            if (id < 0) {
+                throw new IllegalArgumentException("Index ids must not be negative");
+            }
+            if (built) {
+                throw new IllegalStateException("Index editor already built");
+            }
+            if ((size + 1) * 2 > keys.length) {
+                resize(keys.length * 2);
+            }
+            int slot = find(key);
+            if (keys[slot] == null) {
+                keys[slot] = key;
+                size++;
+            }
+            ids[slot] = id;
+            return this;
+        }
+
+        /**
+         * Removes the key if present.
+         */
+        public Editor remove(String key) {
+            if (built) {
+                throw new IllegalStateException("Index editor already built");
+            }
+            int slot = find(key);
+            if (keys[slot] == null) {
+                return this;
+            }
+            // Backward-shift deletion keeps every remaining key reachable without tombstones.
+            int mask = keys.length - 1;
+            int hole = slot;
+            for (int next = (hole + 1) & mask; keys[next] != null; next = (next + 1) & mask) {
+                int home = mix(keys[next].hashCode()) & mask;
+                if (((next - home) & mask) >= ((next - hole) & mask)) {
+                    keys[hole] = keys[next];
+                    ids[hole] = ids[next];
+                    hole = next;
+                }
+            }
+            keys[hole] = null;
+            ids[hole] = 0;
+            size--;
+            return this;
+        }
+
+        /**
+         * @return the immutable index holding all applied changes
+         */
+        public StringIntIndex build() {
+            built = true;
+            return new StringIntIndex(keys, ids, size);
+        }
+
+        private int find(String key) {
+            int mask = keys.length - 1;
+            int slot = mix(key.hashCode()) & mask;
+            while (keys[slot] != null && !keys[slot].equals(key)) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private void resize(int capacity) {
+            String[] oldKeys = keys;
+            int[] oldIds = ids;
+            keys = new String[capacity];
+            ids = new int[capacity];
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != null) {
+                    int slot = find(oldKeys[i]);
+                    keys[slot] = oldKeys[i];
+                    ids[slot] = oldIds[i];
+                }
+            }
+        }
+    }
+}
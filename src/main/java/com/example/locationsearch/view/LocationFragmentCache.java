@@ -0,0 +1,151 @@
+package com.example.locationsearch.view;
+
+import com.example.locationsearch.model.Location;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.Context;
+
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded cache of rendered "Location Details" HTML fragments.
+ * - A fragment is rendered from fragments/result.html once per location instance, so a
+ *   city, its ZIP codes and its alternate names share one fragment per view of the location.
+ *   The index never modifies a stored location but replaces it, so a changed location is a
+ *   new instance and is rendered again, while unchanged locations keep their fragments
+ *   across index versions.
+ * - Hits read a {@link ConcurrentHashMap} without locking. Once the configured capacity is
+ *   exceeded, one writer at a time evicts with the CLOCK algorithm, using two reference bits:
+ *   a new entry starts referenced once and a read marks it referenced twice; each sweep step
+ *   takes one away and drops entries that have none left. New entries therefore survive
+ *   their first sweep, read entries outlive entries that were never read, and the entry
+ *   just inserted is never the one evicted for it (approximately least recently used).
+ */
+@Component
+public class LocationFragmentCache {
+    private static final Logger logger = LoggerFactory.getLogger(LocationFragmentCache.class);
+
+    static final String TEMPLATE = "fragments/result";
+    static final Set<String> FRAGMENT = Set.of("details");
+
+    private final ITemplateEngine templateEngine;
+    private final int maxEntries;
+    private final Map<LocationKey, Fragment> fragments = new ConcurrentHashMap<>();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    public LocationFragmentCache(ITemplateEngine templateEngine,
+                                 @Value("${search.fragment-cache.max-entries:10000}") int maxEntries) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("Fragment cache needs at least one entry");
+        }
+        this.templateEngine = templateEngine;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Returns the rendered fragment for a location, rendering it on first use.
+     *
+     * @param location the location to render, as returned by the index
+     * @return the rendered HTML fragment
+     */
+    public String render(Location location) {
+        LocationKey key = new LocationKey(location);
+        Fragment fragment = fragments.get(key);
+        if (fragment != null) {
+            fragment.touch();
+            return fragment.html;
+        }
+        // Rendered without holding any lock; a concurrent miss on the same location renders twice at worst.
+        fragment = new Fragment(renderUncached(location));
+        fragments.put(key, fragment);
+        logger.debug("Rendered result fragment for location '{}'", location.getCity());
+        if (fragments.size() > maxEntries) {
+            evict(fragment);
+        }
+        return fragment.html;
+    }
+
+    /**
+     * Renders the fragment for a location without consulting the cache.
+     *
+     * @param location the location to render
+     * @return the rendered HTML fragment
+     */
+    public String renderUncached(Location location) {
+        Context context = new Context(Locale.ROOT);
+        context.setVariable("result", location);
+        return templateEngine.process(TEMPLATE, FRAGMENT, context);
+    }
+
+    /**
+     * @return the number of fragments currently cached
+     */
+    public int size() {
+        return fragments.size();
+    }
+
+    private void evict(Fragment inserted) {
+        if (!evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            while (fragments.size() > maxEntries) {
+                Iterator<Fragment> iterator = fragments.values().iterator();
+                while (iterator.hasNext() && fragments.size() > maxEntries) {
+                    Fragment fragment = iterator.next();
+                    if (fragment == inserted) {
+                        continue;
+                    }
+                    if (fragment.references > 0) {
+                        fragment.references--;
+                    } else {
+                        iterator.remove();
+                    }
+                }
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * Identity of a location instance; equal locations from different index entries stay apart.
+     */
+    private record LocationKey(Location location) {
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof LocationKey key && key.location == location;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(location);
+        }
+    }
+
+    private static final class Fragment {
+        private static final int READ = 2;
+
+        final String html;
+        // Starts referenced, so that a fragment is not evicted before its first reuse.
+        volatile int references = 1;
+
+        Fragment(String html) {
+            this.html = html;
+        }
+
+        void touch() {
+            if (references != READ) {
+                references = READ;
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.locationsearch.warmup;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports the startup warm-up as the "warmup" health component, which is part of the
+ * readiness group. It is OUT_OF_SERVICE while the warm-up runs and UP afterwards, with the
+ * warm-up duration and achieved latencies as details. A failed warm-up still reports UP so
+ * that the instance can take traffic, but carries the failure in its details.
+ */
+@Component
+public class WarmupHealthIndicator implements HealthIndicator {
+
+    @Autowired
+    WarmupRunner warmupRunner;
+
+    @Override
+    public Health health() {
+        WarmupReport report = warmupRunner.getReport();
+        Health.Builder builder = "RUNNING".equals(report.status()) ? Health.outOfService() : Health.up();
+        builder.withDetail("status", report.status())
+                .withDetail("requests", report.requests())
+                .withDetail("durationMs", report.duration().toMillis());
+        if (report.firstLatency() != null) {
+            builder.withDetail("firstLatencyMs", report.firstLatency().toMillis())
+                    .withDetail("p50LatencyUs", report.p50Latency().toNanos() / 1_000)
+                    .withDetail("p99LatencyUs", report.p99Latency().toNanos() / 1_000);
+        }
+        if (report.detail() != null) {
+            builder.withDetail("detail", report.detail());
+        }
+        return builder.build();
+    }
+}
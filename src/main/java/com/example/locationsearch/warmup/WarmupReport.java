@@ -0,0 +1,37 @@
+package com.example.locationsearch.warmup;
+
+import java.time.Duration;
+
+/**
+ * Outcome of the startup warm-up.
+ *
+ * @param status       RUNNING, COMPLETED, SKIPPED or FAILED
+ * @param requests     number of warm-up requests sent
+ * @param duration     time spent warming up
+ * @param firstLatency latency of the first search request
+ * @param p50Latency   median latency over the last quarter of search requests
+ * @param p99Latency   99th percentile latency over the last quarter of search requests
+ * @param detail       reason for SKIPPED or FAILED; otherwise null
+ */
+public record WarmupReport(
+        String status,
+        int requests,
+        Duration duration,
+        Duration firstLatency,
+        Duration p50Latency,
+        Duration p99Latency,
+        String detail
+) {
+
+    static WarmupReport running() {
+        return new WarmupReport("RUNNING", 0, Duration.ZERO, null, null, null, null);
+    }
+
+    static WarmupReport skipped(String detail) {
+        return new WarmupReport("SKIPPED", 0, Duration.ZERO, null, null, null, detail);
+    }
+
+    static WarmupReport failed(int requests, Duration duration, String detail) {
+        return new WarmupReport("FAILED", requests, duration, null, null, null, detail);
+    }
+}
@@ -0,0 +1,194 @@
+package com.example.locationsearch.warmup;
+
+import com.example.locationsearch.analytics.QueryAnalytics;
+import com.example.locationsearch.logging.AsyncRequestLogger;
+import com.example.locationsearch.service.SearchService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Warms up the application before it reports ready.
+ * - Runs as an {@link ApplicationRunner}; Spring Boot only switches readiness to
+ *   ACCEPTING_TRAFFIC after all runners have finished.
+ * - Replays queries over HTTP against the embedded server, so the JIT compiles the full
+ *   request path (Tomcat, session lookup, input validation, lookup and Thymeleaf rendering)
+ *   and the result fragment cache is filled.
+ * - Queries come from a query log file (one query per line) when configured, otherwise
+ *   from the indexed city names and ZIP codes plus a few misses and invalid inputs.
+ * - Analytics recorded during warm-up are discarded afterwards, and the request log is paused
+ *   while it runs, so the synthetic requests appear in neither.
+ * - search.warmup.requests=0 skips the warm-up; a negative value fails startup.
+ */
+@Component
+public class WarmupRunner implements ApplicationRunner {
+    private static final Logger logger = LoggerFactory.getLogger(WarmupRunner.class);
+
+    private static final List<String> SYNTHETIC_MISSES = List.of("Atlantis", "99999", "No Such Place");
+    private static final List<String> SYNTHETIC_INVALID = List.of("@@@", "---", "drop;table");
+
+    @Autowired
+    SearchService searchService;
+
+    @Autowired
+    QueryAnalytics queryAnalytics;
+
+    @Autowired
+    Environment environment;
+
+    @Autowired
+    AsyncRequestLogger requestLogger;
+
+    @Value("${search.warmup.enabled:true}")
+    boolean enabled;
+
+    @Value("${search.warmup.query-file:}")
+    String queryFile;
+
+    @Value("${search.warmup.requests:2000}")
+    int requests;
+
+    @Value("${search.warmup.max-duration:PT60S}")
+    Duration maxDuration;
+
+    private volatile WarmupReport report = WarmupReport.running();
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            report = WarmupReport.skipped("disabled");
+            return;
+        }
+        if (requests < 0) {
+            throw new IllegalArgumentException("search.warmup.requests must not be negative: " + requests);
+        }
+        if (requests == 0) {
+            report = WarmupReport.skipped("no requests configured");
+            return;
+        }
+        Integer port = environment.getProperty("local.server.port", Integer.class);
+        if (port == null) {
+            report = WarmupReport.skipped("no embedded web server");
+            return;
+        }
+        long start = System.nanoTime();
+        int sent = 0;
+        requestLogger.setPaused(true);
+        try {
+            List<String> queries = loadQueries();
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .cookieHandler(new CookieManager())
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+            String baseUrl = "http://localhost:" + port;
+            login(client, baseUrl);
+
+            long deadline = start + maxDuration.toNanos();
+            long[] latencies = new long[requests];
+            while (sent < requests && System.nanoTime() < deadline) {
+                String query = queries.get(sent % queries.size());
+                latencies[sent++] = search(client, baseUrl, query);
+            }
+            if (sent == 0) {
+                throw new IllegalStateException("No warm-up request sent within " + maxDuration);
+            }
+            report = summarize(Arrays.copyOf(latencies, sent), Duration.ofNanos(System.nanoTime() - start));
+            logger.info("event=warmup_completed requests={} duration_ms={} first_ms={} p50_us={} p99_us={}",
+                    report.requests(), report.duration().toMillis(), report.firstLatency().toMillis(),
+                    report.p50Latency().toNanos() / 1_000, report.p99Latency().toNanos() / 1_000);
+        } catch (IOException | RuntimeException e) {
+            report = WarmupReport.failed(sent, Duration.ofNanos(System.nanoTime() - start), e.toString());
+            logger.warn("event=warmup_failed requests={} error={}", sent, e.toString());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            report = WarmupReport.failed(sent, Duration.ofNanos(System.nanoTime() - start), "interrupted");
+        } finally {
+            requestLogger.setPaused(false);
+            queryAnalytics.reset();
+        }
+    }
+
+    /**
+     * @return the outcome of the warm-up, or a RUNNING report while it is in progress
+     */
+    public WarmupReport getReport() {
+        return report;
+    }
+
+    private List<String> loadQueries() throws IOException {
+        List<String> queries = new ArrayList<>();
+        if (!queryFile.isBlank()) {
+            for (String line : Files.readAllLines(Path.of(queryFile), StandardCharsets.UTF_8)) {
+                if (!line.isBlank()) {
+                    queries.add(line.strip());
+                }
+            }
+            logger.info("event=warmup_started source={} queries={}", queryFile, queries.size());
+        } else {
+            queries.addAll(searchService.getSearchKeys());
+            queries.addAll(searchService.getAliasKeys());
+            queries.addAll(SYNTHETIC_MISSES);
+            queries.addAll(SYNTHETIC_INVALID);
+            logger.info("event=warmup_started source=synthetic queries={}", queries.size());
+        }
+        if (queries.isEmpty()) {
+            throw new IllegalStateException("No warm-up queries available");
+        }
+        return queries;
+    }
+
+    private void login(HttpClient client, String baseUrl) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"userId\":\"warmup\",\"password\":\"warmup\"}"))
+                .build();
+        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Warm-up login failed with status " + response.statusCode());
+        }
+    }
+
+    private long search(HttpClient client, String baseUrl, String query) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/result?input="
+                        + URLEncoder.encode(query, StandardCharsets.UTF_8)))
+                .GET()
+                .build();
+        long start = System.nanoTime();
+        client.send(request, HttpResponse.BodyHandlers.discarding());
+        return System.nanoTime() - start;
+    }
+
+    private static WarmupReport summarize(long[] latencies, Duration duration) {
+        Duration first = Duration.ofNanos(latencies[0]);
+        long[] tail = Arrays.copyOfRange(latencies, latencies.length - Math.max(1, latencies.length / 4),
+                latencies.length);
+        Arrays.sort(tail);
+        return new WarmupReport("COMPLETED", latencies.length, duration, first,
+                Duration.ofNanos(percentile(tail, 0.50)), Duration.ofNanos(percentile(tail, 0.99)), null);
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1)];
+    }
+}
@@ -0,0 +1,234 @@
+package com.example.locationsearch.wire;
+
+import com.example.locationsearch.model.Location;
+import org.springframework.http.MediaType;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Binary wire format for location lookups ({@value #MEDIA_TYPE_VALUE}).
+ * <pre>
+ * frame    := u32 length, payload        (length 0 = not found, no payload)
+ * payload  := i32 id, string city, string state, string country, varint zipCount, string* zipCodes
+ * string   := varint byteLength, UTF-8 bytes (null is sent as an empty string)
+ * queries  := string*                   (batch request body, at most {@value #MAX_QUERY_BYTES} bytes per query)
+ * </pre>
+ * Fixed-size integers are big-endian; varints are unsigned LEB128 (7 bits per byte, low
+ * bits first), so names and counts below 128 take a single length byte. A batch response
+ * is the frames of the queries in request order.
+ */
+public final class LocationFrames {
+    public static final String MEDIA_TYPE_VALUE = "application/x-location-frame";
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType(MEDIA_TYPE_VALUE);
+
+    /** Longest query accepted in a batch request, in UTF-8 bytes. */
+    public static final int MAX_QUERY_BYTES = 1024;
+
+    /** The frame sent for a query without a location. */
+    public static final byte[] NOT_FOUND = new byte[4];
+
+    private LocationFrames() {
+    }
+
+    /**
+     * A decoded frame.
+     *
+     * @param id       the location id
+     * @param location the location
+     */
+    public record Frame(int id, Location location) {
+    }
+
+    /**
+     * Encodes a location into a complete frame, including its length prefix.
+     *
+     * @param id       the location id
+     * @param location the location
+     * @return the frame
+     */
+    public static byte[] encode(int id, Location location) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(0);
+            out.writeInt(id);
+            writeString(out, location.getCity());
+            writeString(out, location.getState());
+            writeString(out, location.getCountry());
+            List<String> zipCodes = location.getZipCodes() == null ? List.of() : location.getZipCodes();
+            writeVarint(out, zipCodes.size());
+            for (String zipCode : zipCodes) {
+                writeString(out, zipCode);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        byte[] frame = bytes.toByteArray();
+        ByteBuffer.wrap(frame).putInt(0, frame.length - 4);
+        return frame;
+    }
+
+    /**
+     * Decodes the next frame from a buffer and advances its position past it.
+     *
+     * @param buffer the buffer positioned at a frame
+     * @return the frame, or null for a not-found frame
+     * @throws IllegalArgumentException if the buffer does not hold a complete frame
+     */
+    public static Frame decode(ByteBuffer buffer) {
+        try {
+            int length = buffer.getInt();
+            if (length == 0) {
+                return null;
+            }
+            int end = buffer.position() + length;
+            int id = buffer.getInt();
+            String city = readString(buffer);
+            String state = readString(buffer);
+            String country = readString(buffer);
+            int zipCount = readVarint(buffer);
+            List<String> zipCodes = new ArrayList<>(zipCount);
+            for (int i = 0; i < zipCount; i++) {
+                zipCodes.add(readString(buffer));
+            }
+            if (buffer.position() != end) {
+                throw new IllegalArgumentException("Frame length does not match its content");
+            }
+            return new Frame(id, new Location(city, zipCodes, state, country));
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated frame", e);
+        }
+    }
+
+    /**
+     * Encodes the queries of a batch request.
+     *
+     * @param queries city names or ZIP codes
+     * @return the request body
+     */
+    public static byte[] encodeQueries(List<String> queries) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(queries.size() * 8);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            for (String query : queries) {
+                writeString(out, query);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decodes the queries of a batch request.
+     *
+     * @param body       the request body
+     * @param maxQueries the maximum number of queries accepted
+     * @return the queries in request order
+     * @throws IllegalArgumentException if the body is malformed or holds too many queries
+     */
+    public static List<String> decodeQueries(byte[] body, int maxQueries) {
+        try {
+            return decodeQueries(new ByteArrayInputStream(body), maxQueries);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Decodes the queries of a batch request while reading it, so that a batch with too many
+     * or too long queries is rejected without reading the rest of the body.
+     *
+     * @param in         the request body
+     * @param maxQueries the maximum number of queries accepted
+     * @return the queries in request order
+     * @throws IllegalArgumentException if the body is malformed, holds too many queries or a
+     *                                  query longer than {@link #MAX_QUERY_BYTES}
+     * @throws IOException              if reading the body fails
+     */
+    public static List<String> decodeQueries(InputStream in, int maxQueries) throws IOException {
+        List<String> queries = new ArrayList<>();
+        int first;
+        while ((first = in.read()) != -1) {
+            if (queries.size() == maxQueries) {
+                throw new IllegalArgumentException("More than " + maxQueries + " queries");
+            }
+            int length = readVarint(first, in);
+            if (length > MAX_QUERY_BYTES) {
+                throw new IllegalArgumentException("Query longer than " + MAX_QUERY_BYTES + " bytes");
+            }
+            byte[] bytes = in.readNBytes(length);
+            if (bytes.length < length) {
+                throw new IllegalArgumentException("Truncated query");
+            }
+            queries.add(new String(bytes, StandardCharsets.UTF_8));
+        }
+        return queries;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value == null ? new byte[0] : value.getBytes(StandardCharsets.UTF_8);
+        writeVarint(out, bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = readVarint(buffer);
+        if (length > buffer.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeVarint(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarint(int first, InputStream in) throws IOException {
+        int value = 0;
+        int b = first;
+        for (int shift = 0; shift < 32; shift += 7) {
+            if (b == -1) {
+                throw new IllegalArgumentException("Truncated query");
+            }
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                if (value < 0) {
+                    throw new IllegalArgumentException("Varint out of range");
+                }
+                return value;
+            }
+            b = in.read();
+        }
+        throw new IllegalArgumentException("Varint longer than 5 bytes");
+    }
+
+    private static int readVarint(ByteBuffer buffer) {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            byte b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                if (value < 0) {
+                    throw new IllegalArgumentException("Varint out of range");
+                }
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Varint longer than 5 bytes");
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.locationsearch.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CountMinSketchTest {
+
+    /**
+     * Test: Verify that counts are exact while keys do not collide
+     */
+    @Test
+    void shouldCountSingleKeyExactly() {
+        CountMinSketch sketch = new CountMinSketch(4, 1024);
+        for (int i = 0; i < 10; i++) {
+            sketch.addAndEstimate("berlin");
+        }
+        assertEquals(10, sketch.estimate("berlin"));
+        assertEquals(0, sketch.estimate("paris"));
+    }
+
+    /**
+     * Test: Verify that estimates never undercount, even in a crowded sketch
+     */
+    @Test
+    void shouldNeverUndercount() {
+        CountMinSketch sketch = new CountMinSketch(2, 16);
+        for (int i = 0; i < 1000; i++) {
+            sketch.addAndEstimate("key-" + (i % 100));
+        }
+        for (int i = 0; i < 100; i++) {
+            assertTrue(sketch.estimate("key-" + i) >= 10);
+        }
+    }
+
+    /**
+     * Test: Verify that clear resets all counts
+     */
+    @Test
+    void shouldResetOnClear() {
+        CountMinSketch sketch = new CountMinSketch(4, 64);
+        sketch.addAndEstimate("berlin");
+        sketch.clear();
+        assertEquals(0, sketch.estimate("berlin"));
+    }
+
+    /**
+     * Test: Verify that a sketch without rows or columns is rejected
+     */
+    @Test
+    void shouldRejectEmptyDimensions() {
+        assertThrows(IllegalArgumentException.class, () -> new CountMinSketch(0, 64));
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.locationsearch.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class HeavyHittersTest {
+
+    /**
+     * Test: Verify that the most frequent keys are reported first and the list is trimmed to its size
+     */
+    @Test
+    void shouldReportMostFrequentKeys() {
+        HeavyHitters heavyHitters = new HeavyHitters(1, new CountMinSketch(4, 1024));
+        for (int i = 0; i < 5; i++) {
+            heavyHitters.add("berlin");
+        }
+        heavyHitters.add("paris");
+        heavyHitters.add("rome");
+        heavyHitters.add("vienna");
+
+        List<Map.Entry<String, Long>> top = heavyHitters.top();
+        assertEquals(1, top.size());
+        assertEquals("berlin", top.get(0).getKey());
+        assertEquals(5L, top.get(0).getValue());
+    }
+
+    /**
+     * Test: Verify that a size below one is rejected
+     */
+    @Test
+    void shouldRejectNonPositiveSize() {
+        assertThrows(IllegalArgumentException.class, () -> new HeavyHitters(0, new CountMinSketch(4, 1024)));
+    }
+}
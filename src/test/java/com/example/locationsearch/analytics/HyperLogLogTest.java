@@ -0,0 +1,54 @@
+package com.example.locationsearch.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HyperLogLogTest {
+
+    /**
+     * Test: Verify that repeated keys are only counted once
+     */
+    @Test
+    void shouldIgnoreDuplicates() {
+        HyperLogLog hll = new HyperLogLog(12);
+        for (int i = 0; i < 1000; i++) {
+            hll.add("key-" + (i % 10));
+        }
+        assertEquals(10, hll.estimate());
+    }
+
+    /**
+     * Test: Verify that a large cardinality is estimated within a few percent
+     */
+    @Test
+    void shouldEstimateLargeCardinality() {
+        HyperLogLog hll = new HyperLogLog(12);
+        for (int i = 0; i < 100_000; i++) {
+            hll.add("key-" + i);
+        }
+        long estimate = hll.estimate();
+        assertTrue(Math.abs(estimate - 100_000) < 5_000, "estimate was " + estimate);
+    }
+
+    /**
+     * Test: Verify that clear resets the estimate to zero
+     */
+    @Test
+    void shouldResetOnClear() {
+        HyperLogLog hll = new HyperLogLog(8);
+        hll.add("berlin");
+        hll.clear();
+        assertEquals(0, hll.estimate());
+    }
+
+    /**
+     * Test: Verify that an unsupported precision is rejected
+     */
+    @Test
+    void shouldRejectUnsupportedPrecision() {
+        assertThrows(IllegalArgumentException.class, () -> new HyperLogLog(2));
+    }
+}
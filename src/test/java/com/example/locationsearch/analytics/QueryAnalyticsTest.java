@@ -0,0 +1,140 @@
+package com.example.locationsearch.analytics;
+
+import com.example.locationsearch.dto.AnalyticsReport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QueryAnalyticsTest {
+
+    private MutableClock clock;
+    private QueryAnalytics queryAnalytics;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2026-01-01T10:00:00Z"));
+        queryAnalytics = new QueryAnalytics(3, 4, 1024, 12, 5, clock);
+    }
+
+    /**
+     * Test: Verify that totals, misses and distinct queries are counted case-insensitively
+     */
+    @Test
+    void shouldCountTotalsAndDistinctQueries() {
+        queryAnalytics.record("Berlin", true);
+        queryAnalytics.record("berlin", true);
+        queryAnalytics.record("Atlantis", false);
+
+        AnalyticsReport report = queryAnalytics.report();
+        assertEquals(3, report.totalQueries());
+        assertEquals(1, report.totalMisses());
+        assertEquals(2, report.distinctQueries());
+    }
+
+    /**
+     * Test: Verify that the most frequent queries and misses are reported in order
+     */
+    @Test
+    void shouldReportTopQueriesAndMisses() {
+        for (int i = 0; i < 50; i++) {
+            queryAnalytics.record("berlin", true);
+        }
+        for (int i = 0; i < 30; i++) {
+            queryAnalytics.record("atlantis", false);
+        }
+        for (int i = 0; i < 200; i++) {
+            queryAnalytics.record("rare-" + i, i % 2 == 0);
+        }
+
+        AnalyticsReport report = queryAnalytics.report();
+        assertEquals(3, report.topQueries().size());
+        assertEquals(new AnalyticsReport.QueryCount("berlin", 50), report.topQueries().get(0));
+        assertEquals("atlantis", report.topQueries().get(1).query());
+        assertEquals(new AnalyticsReport.QueryCount("atlantis", 30), report.topMisses().get(0));
+    }
+
+    /**
+     * Test: Verify that queries are grouped per minute and old minutes leave the window
+     */
+    @Test
+    void shouldRollMinuteWindows() {
+        queryAnalytics.record("berlin", true);
+        clock.advanceMinutes(1);
+        queryAnalytics.record("berlin", true);
+        queryAnalytics.record("atlantis", false);
+
+        List<AnalyticsReport.MinuteStats> minutes = queryAnalytics.report().minutes();
+        assertEquals(2, minutes.size());
+        assertEquals(1, minutes.get(0).queries());
+        assertEquals(2, minutes.get(1).queries());
+        assertEquals(0.5, minutes.get(1).missRate());
+
+        clock.advanceMinutes(5);
+        queryAnalytics.record("berlin", true);
+        minutes = queryAnalytics.report().minutes();
+        assertEquals(1, minutes.size());
+        assertEquals(clock.instant(), minutes.get(0).start());
+    }
+
+    /**
+     * Test: Verify that reset forgets everything recorded
+     */
+    @Test
+    void shouldForgetEverythingOnReset() {
+        queryAnalytics.record("berlin", true);
+        queryAnalytics.reset();
+
+        AnalyticsReport report = queryAnalytics.report();
+        assertEquals(0, report.totalQueries());
+        assertEquals(0, report.distinctQueries());
+        assertTrue(report.topQueries().isEmpty());
+        assertTrue(report.minutes().isEmpty());
+    }
+
+    /**
+     * Test: Verify that a window of less than one minute is rejected
+     */
+    @Test
+    void shouldRejectNonPositiveWindow() {
+        assertThrows(IllegalArgumentException.class, () -> new MinuteWindows(Clock.systemUTC(), 0));
+    }
+
+    /**
+     * Clock that only moves when told to.
+     */
+    static class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advanceMinutes(long minutes) {
+            now = now.plusSeconds(minutes * 60);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.locationsearch.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"search.warmup.enabled=false", "search.admin.user-id=admin", "search.admin.password=s3cret"})
+class ActuatorAccessTest {
+
+    @LocalServerPort
+    private int port;
+
+    private HttpClient newClient() {
+        return HttpClient.newBuilder().cookieHandler(new CookieManager()).build();
+    }
+
+    private int get(HttpClient client, String path) throws Exception {
+        return client.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).build(),
+                HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private void login(HttpClient client, String userId, String password) throws Exception {
+        HttpResponse<String> login = client.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"userId\":\"" + userId + "\",\"password\":\"" + password + "\"}"))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, login.statusCode());
+    }
+
+    /**
+     * Test: Verify that metrics need an admin session while the health probes stay open
+     */
+    @Test
+    void shouldRestrictMetricsToAdmin() throws Exception {
+        HttpClient anonymous = newClient();
+        assertEquals(200, get(anonymous, "/actuator/health/liveness"));
+        assertEquals(401, get(anonymous, "/actuator/metrics"));
+        assertEquals(401, get(anonymous, "/actuator/metrics/search.delta.sequence"));
+
+        HttpClient user = newClient();
+        login(user, "user", "secret");
+        assertEquals(403, get(user, "/actuator/metrics"));
+
+        HttpClient admin = newClient();
+        login(admin, "admin", "s3cret");
+        assertEquals(200, get(admin, "/actuator/metrics"));
+        assertEquals(200, get(admin, "/actuator/metrics/search.delta.sequence"));
+    }
+}
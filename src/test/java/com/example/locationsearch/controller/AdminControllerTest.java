@@ -0,0 +1,231 @@
+package com.example.locationsearch.controller;
+
+import com.example.locationsearch.analytics.QueryAnalytics;
+import com.example.locationsearch.logging.AsyncRequestLogger;
+import com.example.locationsearch.service.SearchService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(AdminController.class)
+@Import({QueryAnalytics.class, SearchService.class, AsyncRequestLogger.class})
+class AdminControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private QueryAnalytics queryAnalytics;
+
+    @Autowired
+    private SearchService searchService;
+
+    @Autowired
+    private AdminController adminController;
+
+    private MockHttpSession session;
+
+    @BeforeEach
+    void setUp() {
+        session = new MockHttpSession();
+        session.setAttribute("loggedInUser", "admin");
+        session.setAttribute("isAdmin", true);
+        queryAnalytics.reset();
+        searchService.init();
+    }
+
+    /**
+     * Test: Verify that the analytics endpoint rejects calls without a logged-in session with 401.
+     */
+    @Test
+    void shouldRejectAnalyticsIfNotLoggedIn() throws Exception {
+        mockMvc.perform(get("/admin/analytics"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    /**
+     * Test: Verify that sessions of users other than the admin are rejected with 403.
+     */
+    @Test
+    void shouldRejectAdminEndpointsForNonAdminUser() throws Exception {
+        MockHttpSession userSession = new MockHttpSession();
+        userSession.setAttribute("loggedInUser", "testUser");
+        userSession.setAttribute("isAdmin", false);
+
+        mockMvc.perform(get("/admin/analytics").session(userSession))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(delete("/admin/locations/Paris").session(userSession))
+                .andExpect(status().isForbidden());
+        assertEquals("Paris", searchService.findLocation("Paris").getCity());
+    }
+
+    /**
+     * Test: Verify that the analytics endpoint reports recorded queries and misses as JSON.
+     */
+    @Test
+    void shouldReturnAnalyticsReport() throws Exception {
+        queryAnalytics.record("Berlin", true);
+        queryAnalytics.record("Berlin", true);
+        queryAnalytics.record("Atlantis", false);
+
+        mockMvc.perform(get("/admin/analytics").session(session))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalQueries").value(3))
+                .andExpect(jsonPath("$.totalMisses").value(1))
+                .andExpect(jsonPath("$.distinctQueries").value(2))
+                .andExpect(jsonPath("$.topQueries[0].query").value("berlin"))
+                .andExpect(jsonPath("$.topQueries[0].count").value(2))
+                .andExpect(jsonPath("$.topMisses[0].query").value("atlantis"))
+                .andExpect(jsonPath("$.minutes[0].queries").value(3));
+    }
+
+    /**
+     * Test: Verify that PUT adds a location that searches find immediately.
+     */
+    @Test
+    void shouldUpsertLocation() throws Exception {
+        String json = """
+                {
+                  "state": "Baden-Württemberg",
+                  "country": "Germany",
+                  "zipCodes": ["70173", "70174"]
+                }
+                """;
+
+        mockMvc.perform(put("/admin/locations/Stuttgart")
+                        .session(session)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.city").value("Stuttgart"))
+                .andExpect(jsonPath("$.zipCodes[1]").value("70174"));
+
+        assertEquals("Stuttgart", searchService.findLocation("70173").getCity());
+    }
+
+    /**
+     * Test: Verify that PUT stores repeated ZIP codes once and takes ZIP codes over from their previous city
+     */
+    @Test
+    void shouldDedupeZipCodesAndTakeOverZipsOfOtherCities() throws Exception {
+        mockMvc.perform(put("/admin/locations/Stuttgart")
+                        .session(session)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"state\": \"Baden-Württemberg\", \"country\": \"Germany\","
+                                + " \"zipCodes\": [\"70173\", \"70173\", \"10115\"]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.zipCodes.length()").value(2));
+
+        assertEquals("Stuttgart", searchService.findLocation("10115").getCity());
+        assertFalse(searchService.findLocation("Berlin").getZipCodes().contains("10115"));
+        assertEquals(4, searchService.findLocation("Berlin").getZipCodes().size());
+    }
+
+    /**
+     * Test: Verify that PUT with missing fields returns 400 with validation errors.
+     */
+    @Test
+    void shouldRejectInvalidLocation() throws Exception {
+        mockMvc.perform(put("/admin/locations/Stuttgart")
+                        .session(session)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"state\": \"\", \"zipCodes\": [\"70@73\"]}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.state").value("State is required"))
+                .andExpect(jsonPath("$.country").value("Country is required"));
+    }
+
+    /**
+     * Test: Verify that PUT rejects null ZIP codes with 400 instead of failing.
+     */
+    @Test
+    void shouldRejectNullZipCode() throws Exception {
+        mockMvc.perform(put("/admin/locations/Stuttgart")
+                        .session(session)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"state\": \"Baden-Württemberg\", \"country\": \"Germany\", \"zipCodes\": [null]}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$['zipCodes[0]']").value("ZIP codes must not be null"));
+    }
+
+    /**
+     * Test: Verify that PUT rejects city names that search input could never match, and strips the name.
+     */
+    @Test
+    void shouldValidateCityName() throws Exception {
+        String json = "{\"state\": \"Baden-Württemberg\", \"country\": \"Germany\", \"zipCodes\": [\"70173\"]}";
+
+        mockMvc.perform(put("/admin/locations/@@@")
+                        .session(session)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.city").value("City may only contain letters, numbers, spaces, and hyphens"));
+        assertNull(searchService.findLocation("@@@"));
+
+        mockMvc.perform(put("/admin/locations/ Stuttgart ")
+                        .session(session)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.city").value("Stuttgart"));
+    }
+
+    /**
+     * Test: Verify that location changes are refused with 409 while delta ingest owns the data
+     */
+    @Test
+    void shouldRejectLocationChangesWhileDeltaIngestIsEnabled() throws Exception {
+        adminController.changeFile = "/var/lib/search/changes.tsv";
+        try {
+            mockMvc.perform(delete("/admin/locations/Paris").session(session))
+                    .andExpect(status().isConflict())
+                    .andExpect(jsonPath("$.locations").exists());
+            mockMvc.perform(put("/admin/locations/Stuttgart")
+                            .session(session)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"state\": \"Baden-Württemberg\", \"country\": \"Germany\", \"zipCodes\": [\"70173\"]}"))
+                    .andExpect(status().isConflict());
+        } finally {
+            adminController.changeFile = "";
+        }
+        assertEquals("Paris", searchService.findLocation("Paris").getCity());
+        assertNull(searchService.findLocation("Stuttgart"));
+    }
+
+    /**
+     * Test: Verify that DELETE retires a location and returns 404 for unknown cities.
+     */
+    @Test
+    void shouldDeleteLocation() throws Exception {
+        mockMvc.perform(delete("/admin/locations/Paris").session(session))
+                .andExpect(status().isNoContent());
+        assertNull(searchService.findLocation("Paris"));
+
+        mockMvc.perform(delete("/admin/locations/Paris").session(session))
+                .andExpect(status().isNotFound());
+    }
+
+    /**
+     * Test: Verify that location changes require a logged-in session.
+     */
+    @Test
+    void shouldRejectLocationChangesIfNotLoggedIn() throws Exception {
+        mockMvc.perform(delete("/admin/locations/Paris"))
+                .andExpect(status().isUnauthorized());
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.locationsearch.controller;
+
+import com.example.locationsearch.export.LocationExporter;
+import com.example.locationsearch.logging.AsyncRequestLogger;
+import com.example.locationsearch.service.SearchService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(ExportController.class)
+@Import({SearchService.class, LocationExporter.class, AsyncRequestLogger.class})
+class ExportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SearchService searchService;
+
+    private MockHttpSession session;
+
+    @BeforeEach
+    void setUp() {
+        session = new MockHttpSession();
+        session.setAttribute("loggedInUser", "testUser");
+        searchService.init();
+    }
+
+    private String export(String... params) throws Exception {
+        MockHttpServletRequestBuilder request = get("/api/export/locations").session(session);
+        for (int i = 0; i < params.length; i += 2) {
+            request.param(params[i], params[i + 1]);
+        }
+        MvcResult started = mockMvc.perform(request)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+    }
+
+    /**
+     * Test: Verify that the export rejects calls without a logged-in session with 401.
+     */
+    @Test
+    void shouldRejectIfNotLoggedIn() throws Exception {
+        mockMvc.perform(get("/api/export/locations"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    /**
+     * Test: Verify that all locations are streamed as NDJSON in id order with the index version.
+     */
+    @Test
+    void shouldStreamAllLocationsAsNdjson() throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/export/locations").session(session))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(header().string("X-Index-Version", Long.toHexString(searchService.getIndexVersion())))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(15, lines.length);
+        assertEquals("{\"id\":0,\"city\":\"New York\",\"state\":\"New York\",\"country\":\"USA\","
+                + "\"zipCodes\":[\"10001\",\"10002\",\"10003\",\"10004\",\"10005\"]}", lines[0]);
+    }
+
+    /**
+     * Test: Verify that country and state filters and the cursor narrow the export.
+     */
+    @Test
+    void shouldFilterAndResumeFromCursor() throws Exception {
+        String germany = export("country", "germany");
+        assertEquals(7, germany.split("\n").length);
+
+        String nrw = export("format", "csv", "country", "Germany", "state", "North Rhine-Westphalia");
+        assertEquals("""
+                id,city,state,country,zipCodes
+                11,Cologne,North Rhine-Westphalia,Germany,50667;50668;50670;50672;50674
+                13,Dortmund,North Rhine-Westphalia,Germany,44135;44137;44139;44141;44143
+                """, nrw);
+
+        String resumed = export("format", "csv", "country", "Germany", "state", "North Rhine-Westphalia",
+                "cursor", "12");
+        assertTrue(resumed.endsWith("\n13,Dortmund,North Rhine-Westphalia,Germany,44135;44137;44139;44141;44143\n"));
+        assertEquals(2, resumed.split("\n").length);
+    }
+
+    /**
+     * Test: Verify that unknown formats, a state without a country and unknown regions are rejected.
+     */
+    @Test
+    void shouldRejectInvalidFilters() throws Exception {
+        mockMvc.perform(get("/api/export/locations").param("format", "xml").session(session))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/export/locations").param("state", "Bavaria").session(session))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/export/locations").param("cursor", "-1").session(session))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/export/locations").param("country", "Atlantis").session(session))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/export/locations").param("country", "Germany").param("state", "Lazio")
+                        .session(session))
+                .andExpect(status().isNotFound());
+    }
+}
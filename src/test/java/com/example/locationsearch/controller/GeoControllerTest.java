@@ -0,0 +1,122 @@
+package com.example.locationsearch.controller;
+
+import com.example.locationsearch.service.SearchService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(GeoController.class)
+@Import(SearchService.class)
+class GeoControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SearchService searchService;
+
+    private MockHttpSession session;
+
+    @BeforeEach
+    void setUp() {
+        session = new MockHttpSession();
+        session.setAttribute("loggedInUser", "testUser");
+        searchService.init();
+    }
+
+    /**
+     * Test: Verify that the hierarchy endpoints reject calls without a logged-in session with 401.
+     */
+    @Test
+    void shouldRejectIfNotLoggedIn() throws Exception {
+        mockMvc.perform(get("/api/geo/countries"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    /**
+     * Test: Verify that countries are listed by name with their state, city and ZIP counts.
+     */
+    @Test
+    void shouldListCountriesWithCounts() throws Exception {
+        mockMvc.perform(get("/api/geo/countries").session(session))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(9))
+                .andExpect(jsonPath("$.items[0].name").value("Austria"))
+                .andExpect(jsonPath("$.items[2].name").value("Germany"))
+                .andExpect(jsonPath("$.items[2].states").value(6))
+                .andExpect(jsonPath("$.items[2].cities").value(7))
+                .andExpect(jsonPath("$.items[2].zips").value(35));
+    }
+
+    /**
+     * Test: Verify that pages are cut by page and size and a page past the end is empty.
+     */
+    @Test
+    void shouldPaginateChildren() throws Exception {
+        mockMvc.perform(get("/api/geo/countries/germany/states").param("page", "1").param("size", "4")
+                        .session(session))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(6))
+                .andExpect(jsonPath("$.page").value(1))
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.items[0].name").value("North Rhine-Westphalia"))
+                .andExpect(jsonPath("$.items[0].cities").value(2))
+                .andExpect(jsonPath("$.items[0].states").doesNotExist());
+
+        mockMvc.perform(get("/api/geo/countries").param("page", "9").session(session))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(0)));
+    }
+
+    /**
+     * Test: Verify that a state lists its cities and a city lists its ZIP codes.
+     */
+    @Test
+    void shouldDrillDownToZipCodes() throws Exception {
+        mockMvc.perform(get("/api/geo/countries/Germany/states/North Rhine-Westphalia/cities").session(session))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].name").value("Cologne"))
+                .andExpect(jsonPath("$.items[0].zips").value(5))
+                .andExpect(jsonPath("$.items[1].name").value("Dortmund"));
+
+        mockMvc.perform(get("/api/geo/countries/Germany/states/Bavaria/cities/munich/zips").param("size", "2")
+                        .session(session))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(5))
+                .andExpect(jsonPath("$.items[0]").value("80331"))
+                .andExpect(jsonPath("$.items[1]").value("80333"));
+    }
+
+    /**
+     * Test: Verify that unknown names and a city outside the requested state return 404.
+     */
+    @Test
+    void shouldReturnNotFoundForUnknownNodes() throws Exception {
+        mockMvc.perform(get("/api/geo/countries/Atlantis/states").session(session))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/geo/countries/Germany/states/Lazio/cities").session(session))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/geo/countries/Germany/states/Bavaria/cities/Berlin/zips").session(session))
+                .andExpect(status().isNotFound());
+    }
+
+    /**
+     * Test: Verify that invalid page parameters are rejected with 400.
+     */
+    @Test
+    void shouldRejectInvalidPageParameters() throws Exception {
+        mockMvc.perform(get("/api/geo/countries").param("size", "0").session(session))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/geo/countries").param("page", "-1").session(session))
+                .andExpect(status().isBadRequest());
+    }
+}
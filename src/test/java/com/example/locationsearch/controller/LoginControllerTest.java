@@ -1,14 +1,19 @@
 package com.example.locationsearch.controller;
 
+import com.example.locationsearch.logging.AsyncRequestLogger;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockHttpSession;
 import org.springframework.test.web.servlet.MockMvc;
 
 import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
@@ -16,7 +21,9 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.view;
 
-@WebMvcTest(LoginController.class)
+@WebMvcTest(controllers = LoginController.class,
+        properties = {"search.admin.user-id=admin", "search.admin.password=s3cret"})
+@Import(AsyncRequestLogger.class)
 class LoginControllerTest {
 
     @Autowired
@@ -63,6 +70,52 @@ class LoginControllerTest {
 
     }
 
+    /**
+     * Test: Verify that regular users are not marked as admin.
+     */
+    @Test
+    void shouldNotGrantAdminToRegularUser() throws Exception {
+        mockMvc.perform(post("/login")
+                        .session(session)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"userId\": \"user\", \"password\": \"s3cret\"}"))
+                .andExpect(status().isOk());
+
+        assertEquals(false, session.getAttribute("isAdmin"));
+    }
+
+    /**
+     * Test: Verify that the admin user logs in with the configured password and is marked as admin.
+     */
+    @Test
+    void shouldGrantAdminWithConfiguredPassword() throws Exception {
+        String sessionIdBefore = session.getId();
+        mockMvc.perform(post("/login")
+                        .session(session)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"userId\": \"admin\", \"password\": \"s3cret\"}"))
+                .andExpect(status().isOk());
+
+        assertEquals("admin", session.getAttribute("loggedInUser"));
+        assertEquals(true, session.getAttribute("isAdmin"));
+        assertNotEquals(sessionIdBefore, session.getId());
+    }
+
+    /**
+     * Test: Verify that the admin user id with a wrong password is rejected with 401 and no session state.
+     */
+    @Test
+    void shouldRejectAdminWithWrongPassword() throws Exception {
+        mockMvc.perform(post("/login")
+                        .session(session)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"userId\": \"admin\", \"password\": \"guess\"}"))
+                .andExpect(status().isUnauthorized());
+
+        assertNull(session.getAttribute("loggedInUser"));
+        assertNull(session.getAttribute("isAdmin"));
+    }
+
     /**
      * Test: Verify that login with a blank userId returns HTTP 400 and validation error message.
      */
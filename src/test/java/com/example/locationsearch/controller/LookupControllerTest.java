@@ -0,0 +1,145 @@
+package com.example.locationsearch.controller;
+
+import com.example.locationsearch.model.Location;
+import com.example.locationsearch.service.SearchService;
+import com.example.locationsearch.wire.LocationFrames;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(LookupController.class)
+@Import(SearchService.class)
+class LookupControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SearchService searchService;
+
+    private MockHttpSession session;
+
+    @BeforeEach
+    void setUp() {
+        session = new MockHttpSession();
+        session.setAttribute("loggedInUser", "testUser");
+        searchService.init();
+    }
+
+    /**
+     * Test: Verify that lookups reject calls without a logged-in session with 401.
+     */
+    @Test
+    void shouldRejectIfNotLoggedIn() throws Exception {
+        mockMvc.perform(get("/api/locations/Berlin"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    /**
+     * Test: Verify that a ZIP code resolves to its full location as JSON and unknown queries return 404.
+     */
+    @Test
+    void shouldLookUpLocationAsJson() throws Exception {
+        mockMvc.perform(get("/api/locations/80331").accept(MediaType.APPLICATION_JSON).session(session))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.city").value("Munich"))
+                .andExpect(jsonPath("$.zipCodes.length()").value(5));
+        mockMvc.perform(get("/api/locations/Atlantis").accept(MediaType.APPLICATION_JSON).session(session))
+                .andExpect(status().isNotFound());
+    }
+
+    /**
+     * Test: Verify that the binary format is negotiated and serves the frame stored in the index.
+     */
+    @Test
+    void shouldLookUpLocationAsFrame() throws Exception {
+        byte[] body = mockMvc.perform(get("/api/locations/munich").accept(LocationFrames.MEDIA_TYPE)
+                        .session(session))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(LocationFrames.MEDIA_TYPE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        int id = searchService.getIndex().idOfCity("munich");
+        assertArrayEquals(searchService.getIndex().frame(id), body);
+        assertEquals("Bavaria", LocationFrames.decode(ByteBuffer.wrap(body)).location().getState());
+    }
+
+    /**
+     * Test: Verify that JSON batches answer every query in order with null for misses.
+     */
+    @Test
+    void shouldLookUpBatchAsJson() throws Exception {
+        mockMvc.perform(post("/api/locations/lookup").contentType(MediaType.APPLICATION_JSON)
+                        .content("[\"Berlin\", \"Atlantis\", \"SW1A 1AA\"]").session(session))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].city").value("Berlin"))
+                .andExpect(jsonPath("$[1]").isEmpty())
+                .andExpect(jsonPath("$[2].city").value("London"));
+    }
+
+    /**
+     * Test: Verify that binary batches return one frame per query, including not-found frames and updates.
+     */
+    @Test
+    void shouldLookUpBatchAsFrames() throws Exception {
+        searchService.upsert(new Location("Berlin", List.of("10115", "10999"), "Berlin", "Germany"));
+        byte[] request = LocationFrames.encodeQueries(List.of("10999", "Atlantis", "Rome"));
+
+        byte[] body = mockMvc.perform(post("/api/locations/lookup").contentType(LocationFrames.MEDIA_TYPE)
+                        .accept(LocationFrames.MEDIA_TYPE).content(request).session(session))
+                .andExpect(status().isOk())
+                .andExpect(header().longValue("Content-Length", 0L + searchService.getIndex()
+                        .frame(searchService.getIndex().idOfCity("berlin")).length
+                        + 4 + searchService.getIndex().frame(searchService.getIndex().idOfCity("rome")).length))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        ByteBuffer buffer = ByteBuffer.wrap(body);
+        assertEquals(List.of("10115", "10999"), LocationFrames.decode(buffer).location().getZipCodes());
+        assertNull(LocationFrames.decode(buffer));
+        assertEquals("Lazio", LocationFrames.decode(buffer).location().getState());
+        assertFalse(buffer.hasRemaining());
+    }
+
+    /**
+     * Test: Verify that malformed binary batches are rejected with 400.
+     */
+    @Test
+    void shouldRejectMalformedFrameBatch() throws Exception {
+        mockMvc.perform(post("/api/locations/lookup").contentType(LocationFrames.MEDIA_TYPE)
+                        .accept(LocationFrames.MEDIA_TYPE).content(new byte[]{5, 'a'}).session(session))
+                .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * Test: Verify that binary batches over the query limit are rejected with 400.
+     */
+    @Test
+    void shouldRejectOversizedFrameBatch() throws Exception {
+        byte[] request = LocationFrames.encodeQueries(Collections.nCopies(10_001, "Berlin"));
+
+        mockMvc.perform(post("/api/locations/lookup").contentType(LocationFrames.MEDIA_TYPE)
+                        .accept(LocationFrames.MEDIA_TYPE).content(request).session(session))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.locationsearch.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.ByteArrayInputStream;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "search.warmup.enabled=false")
+class SearchCompressionTest {
+
+    @LocalServerPort
+    private int port;
+
+    /**
+     * Test: Verify that the embedded server gzips a search result page that carries an ETag,
+     * and that the ETag still yields 304 on a repeated search.
+     */
+    @Test
+    void shouldCompressSearchResultWithETag() throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .cookieHandler(new CookieManager())
+                .build();
+        String baseUrl = "http://localhost:" + port;
+        HttpResponse<String> login = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"userId\":\"user\",\"password\":\"secret\"}"))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, login.statusCode());
+
+        HttpResponse<byte[]> result = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/result?input=Berlin"))
+                .header("Accept-Encoding", "gzip")
+                .build(), HttpResponse.BodyHandlers.ofByteArray());
+
+        assertEquals(200, result.statusCode());
+        assertEquals("gzip", result.headers().firstValue("Content-Encoding").orElse(null));
+        String etag = result.headers().firstValue("ETag").orElseThrow();
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(result.body()))) {
+            assertTrue(new String(in.readAllBytes(), StandardCharsets.UTF_8).contains("10115"));
+        }
+
+        HttpResponse<Void> repeated = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/result?input=Berlin"))
+                .header("Accept-Encoding", "gzip")
+                .header("If-None-Match", etag)
+                .build(), HttpResponse.BodyHandlers.discarding());
+        assertEquals(304, repeated.statusCode());
+    }
+}
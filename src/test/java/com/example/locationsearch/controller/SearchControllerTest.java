@@ -1,24 +1,35 @@
 package com.example.locationsearch.controller;
 
+import com.example.locationsearch.analytics.QueryAnalytics;
+import com.example.locationsearch.logging.AsyncRequestLogger;
 import com.example.locationsearch.model.Location;
 import com.example.locationsearch.service.SearchService;
+import com.example.locationsearch.view.LocationFragmentCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.mock.web.MockHttpSession;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.startsWith;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.model;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.redirectedUrl;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.view;
 
 @WebMvcTest(SearchController.class)
+@Import({LocationFragmentCache.class, AsyncRequestLogger.class, QueryAnalytics.class})
 class SearchControllerTest {
 
     @Autowired
@@ -181,6 +192,24 @@ class SearchControllerTest {
                 .andExpect(model().attributeExists("result"));
     }
 
+    /**
+     * Test: Verify that city names with non-ASCII letters (alternate names) are accepted and processed.
+     */
+    @Test
+    void shouldAcceptUnicodeCityName() throws Exception {
+        Location mockDto = new Location();
+        mockDto.setCity("Munich");
+        Mockito.when(searchService.findLocation("München")).thenReturn(mockDto);
+
+        mockMvc.perform(get("/result")
+                        .param("input", "München")
+                        .session(session))
+                .andExpect(status().isOk())
+                .andExpect(view().name("search"))
+                .andExpect(model().attributeExists("result"))
+                .andExpect(model().attributeDoesNotExist("error"));
+    }
+
     /**
      * Test: Verify that numeric ZIP code input should be accepted and processed.
      */
@@ -255,4 +284,70 @@ class SearchControllerTest {
                 .andExpect(model().attributeExists("error"))
                 .andExpect(model().attribute("error", "Input contains invalid characters. Only letters, numbers, spaces, and hyphens are allowed."));
     }
+
+    /**
+     * Test: Verify that a search result carries a weak ETag and a private Cache-Control header.
+     */
+    @Test
+    void shouldSetETagAndCacheControlOnSearchResult() throws Exception {
+        Location mockDto = new Location();
+        mockDto.setCity("Dortmund");
+        Mockito.when(searchService.findLocation("Dortmund")).thenReturn(mockDto);
+
+        mockMvc.perform(get("/result").param("input", "Dortmund").session(session))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", startsWith("W/\"")))
+                .andExpect(header().string("Cache-Control", containsString("private")))
+                .andExpect(header().string("Cache-Control", containsString("max-age=300")));
+    }
+
+    /**
+     * Test: Verify that repeating a search with a matching If-None-Match returns 304 without a lookup.
+     */
+    @Test
+    void shouldReturnNotModifiedWhenETagMatches() throws Exception {
+        Location mockDto = new Location();
+        mockDto.setCity("Dortmund");
+        Mockito.when(searchService.findLocation("Dortmund")).thenReturn(mockDto);
+
+        String etag = mockMvc.perform(get("/result").param("input", "Dortmund").session(session))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/result").param("input", "Dortmund").session(session)
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        Mockito.verify(searchService, Mockito.times(1)).findLocation("Dortmund");
+    }
+
+    /**
+     * Test: Verify that a change of the index version produces a different ETag.
+     */
+    @Test
+    void shouldChangeETagWhenIndexVersionChanges() throws Exception {
+        Mockito.when(searchService.getIndexVersion()).thenReturn(1L);
+        String first = mockMvc.perform(get("/result").param("input", "Paris").session(session))
+                .andReturn().getResponse().getHeader("ETag");
+
+        Mockito.when(searchService.getIndexVersion()).thenReturn(2L);
+        mockMvc.perform(get("/result").param("input", "Paris").session(session)
+                        .header("If-None-Match", first))
+                .andExpect(status().isOk())
+                .andExpect(view().name("search"));
+    }
+
+    /**
+     * Test: Verify that a found location is rendered into the cached result fragment.
+     */
+    @Test
+    void shouldRenderResultFragmentForFoundLocation() throws Exception {
+        Location mockDto = new Location("Munich", List.of("80331", "80333"), "Bavaria", "Germany");
+        Mockito.when(searchService.findLocation("Munich")).thenReturn(mockDto);
+
+        mockMvc.perform(get("/result").param("input", "Munich").session(session))
+                .andExpect(status().isOk())
+                .andExpect(model().attributeExists("resultHtml"))
+                .andExpect(content().string(containsString("Bavaria")))
+                .andExpect(content().string(containsString("80331")));
+    }
 }
@@ -0,0 +1,89 @@
+package com.example.locationsearch.export;
+
+import com.example.locationsearch.model.Location;
+import com.example.locationsearch.service.LocationChange;
+import com.example.locationsearch.service.LocationIndex;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LocationExporterTest {
+
+    /**
+     * Test: Verify that the output is flushed once per chunk and once at the end, not per record
+     */
+    @Test
+    void shouldFlushOncePerChunk() throws IOException {
+        List<LocationChange> changes = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            changes.add(LocationChange.upsert(new Location("City" + i, List.of("Z" + i), "State", "Country")));
+        }
+        LocationIndex index = LocationIndex.empty().apply(changes);
+        int[] flushes = {0};
+        ByteArrayOutputStream out = new ByteArrayOutputStream() {
+            @Override
+            public void flush() {
+                flushes[0]++;
+            }
+        };
+
+        long exported = new LocationExporter(10).export(index, ExportFormat.NDJSON, null, null, 0, out);
+
+        assertEquals(25, exported);
+        assertEquals(3, flushes[0]);
+        assertEquals(25, out.toString(StandardCharsets.UTF_8).split("\n").length);
+    }
+
+    /**
+     * Test: Verify that CSV fields with separators or quotes are quoted and retired ids are skipped
+     */
+    @Test
+    void shouldQuoteCsvFieldsAndSkipRetiredIds() throws IOException {
+        LocationIndex index = LocationIndex.empty().apply(List.of(
+                LocationChange.upsert(new Location("Gone", List.of("1"), "State", "Country")),
+                LocationChange.upsert(new Location("Washington, D.C.", List.of("20001", "20002"),
+                        "District \"DC\"", "USA"))))
+                .apply(List.of(LocationChange.delete("gone")));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        new LocationExporter(500).export(index, ExportFormat.CSV, null, null, 0, out);
+
+        assertEquals("""
+                id,city,state,country,zipCodes
+                1,"Washington, D.C.","District ""DC\"\"",USA,20001;20002
+                """, out.toString(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Test: Verify that a country or state filter exports the matching cities in id order from the cursor on
+     */
+    @Test
+    void shouldExportFilteredCitiesInIdOrderFromCursor() throws IOException {
+        LocationIndex index = LocationIndex.empty().apply(List.of(
+                LocationChange.upsert(new Location("Munich", List.of("80331"), "Bavaria", "Germany")),
+                LocationChange.upsert(new Location("Paris", List.of("75001"), "Île-de-France", "France")),
+                LocationChange.upsert(new Location("Cologne", List.of("50667"), "North Rhine-Westphalia", "Germany")),
+                LocationChange.upsert(new Location("Augsburg", List.of("86150"), "Bavaria", "Germany"))));
+        LocationExporter exporter = new LocationExporter(500);
+
+        ByteArrayOutputStream germany = new ByteArrayOutputStream();
+        assertEquals(3, exporter.export(index, ExportFormat.CSV, "germany", null, 0, germany));
+        assertEquals(List.of("0", "2", "3"), firstColumn(germany));
+
+        ByteArrayOutputStream bavaria = new ByteArrayOutputStream();
+        assertEquals(1, exporter.export(index, ExportFormat.CSV, "Germany", "bavaria", 1, bavaria));
+        assertEquals(List.of("3"), firstColumn(bavaria));
+
+        assertEquals(0, exporter.export(index, ExportFormat.CSV, "Spain", null, 0, new ByteArrayOutputStream()));
+    }
+
+    private static List<String> firstColumn(ByteArrayOutputStream out) {
+        return out.toString(StandardCharsets.UTF_8).lines().skip(1).map(line -> line.split(",")[0]).toList();
+    }
+}
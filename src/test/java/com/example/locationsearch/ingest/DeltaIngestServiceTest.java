@@ -0,0 +1,213 @@
+package com.example.locationsearch.ingest;
+
+import com.example.locationsearch.logging.AsyncRequestLogger;
+import com.example.locationsearch.service.LocationIndex;
+import com.example.locationsearch.service.SearchService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DeltaIngestServiceTest {
+
+    @TempDir
+    Path dir;
+
+    private Path changeLog;
+    private Path snapshot;
+    private SearchService searchService;
+    private SimpleMeterRegistry meterRegistry;
+    private DeltaIngestService ingestService;
+
+    @BeforeEach
+    void setUp() {
+        changeLog = dir.resolve("changes.tsv");
+        snapshot = dir.resolve("index.bin");
+        searchService = new SearchService();
+        searchService.init();
+        meterRegistry = new SimpleMeterRegistry();
+        ingestService = newIngestService(searchService);
+    }
+
+    private DeltaIngestService newIngestService(SearchService target) {
+        DeltaIngestService service = new DeltaIngestService();
+        service.searchService = target;
+        service.meterRegistry = meterRegistry;
+        service.requestLogger = new AsyncRequestLogger(1024, 1.0);
+        service.changeFile = changeLog.toString();
+        service.snapshotLocation = snapshot.toString();
+        service.batchSize = 100;
+        service.compactEvery = 100;
+        service.registerMetrics();
+        return service;
+    }
+
+    private void append(String text) throws IOException {
+        Files.writeString(changeLog, text, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    /**
+     * Test: Verify that add, update and delete records are applied and counted
+     */
+    @Test
+    void shouldApplyAddUpdateAndDeleteRecords() throws Exception {
+        append("1\t1700000000000\tADD\tStuttgart\tBaden-Württemberg\tGermany\t70173,70174\n"
+                + "2\t1700000000001\tUPDATE\tBerlin\tBerlin\tDeutschland\t10115\n"
+                + "3\t1700000000002\tDELETE\tParis\n");
+
+        assertEquals(3, ingestService.ingest());
+
+        assertEquals("Stuttgart", searchService.findLocation("70174").getCity());
+        assertEquals("Deutschland", searchService.findLocation("Berlin").getCountry());
+        assertNull(searchService.findLocation("Paris"));
+        assertEquals(3, searchService.getAppliedSequence());
+        assertEquals(3, meterRegistry.counter("search.delta.applied").count());
+        assertEquals(3, meterRegistry.timer("search.delta.lag").count());
+    }
+
+    /**
+     * Test: Verify that only new records are applied on the next poll and a partial line waits
+     */
+    @Test
+    void shouldApplyOnlyNewCompleteLines() throws Exception {
+        append("1\t1700000000000\tDELETE\tParis\n2\t1700000000001\tDELETE\tRo");
+        assertEquals(1, ingestService.ingest());
+        assertEquals("Rome", searchService.findLocation("Rome").getCity());
+
+        append("me\n");
+        assertEquals(1, ingestService.ingest());
+        assertNull(searchService.findLocation("Rome"));
+        assertEquals(0, ingestService.ingest());
+    }
+
+    /**
+     * Test: Verify that malformed lines are skipped and counted without stopping the ingest
+     */
+    @Test
+    void shouldSkipMalformedRecords() throws Exception {
+        append("x\t1700000000000\tDELETE\tParis\n"
+                + "2\t1700000000000\tRENAME\tParis\n"
+                + "3\t1700000000000\tDELETE\tRome\n");
+
+        assertEquals(1, ingestService.ingest());
+        assertEquals(2, meterRegistry.counter("search.delta.rejected").count());
+        assertNull(searchService.findLocation("Rome"));
+    }
+
+    /**
+     * Test: Verify that a restart from the compacted snapshot resumes after its sequence
+     */
+    @Test
+    void shouldResumeFromCompactedSnapshotAfterRestart() throws Exception {
+        append("1\t1700000000000\tADD\tStuttgart\tBaden-Württemberg\tGermany\t70173\n"
+                + "2\t1700000000001\tDELETE\tParis\n");
+        ingestService.ingest();
+        ingestService.compact();
+        append("3\t1700000000002\tDELETE\tStuttgart\n");
+
+        SearchService restarted = new SearchService();
+        ReflectionTestUtils.setField(restarted, "snapshotLocation", snapshot.toString());
+        restarted.init();
+        assertEquals(2, restarted.getAppliedSequence());
+        assertEquals("Stuttgart", restarted.findLocation("70173").getCity());
+
+        assertEquals(1, newIngestService(restarted).ingest());
+        assertNull(restarted.findLocation("Stuttgart"));
+        assertNull(restarted.findLocation("Paris"));
+        assertEquals(3, restarted.getAppliedSequence());
+    }
+
+    /**
+     * Test: Verify that a missing snapshot falls back to the built-in data and the first compaction creates it
+     */
+    @Test
+    void shouldStartWithoutSnapshotAndCreateItOnCompaction() throws Exception {
+        Path missing = dir.resolve("data").resolve("index.bin");
+        SearchService fresh = new SearchService();
+        ReflectionTestUtils.setField(fresh, "snapshotLocation", missing.toString());
+        ReflectionTestUtils.setField(fresh, "changeFile", changeLog.toString());
+        fresh.init();
+        assertEquals(15, fresh.getIndex().size());
+
+        append("1\t1700000000000\tDELETE\tParis\n");
+        DeltaIngestService service = newIngestService(fresh);
+        service.snapshotLocation = missing.toString();
+        assertEquals(1, service.ingest());
+        service.compact();
+
+        assertTrue(Files.exists(missing));
+        SearchService restarted = new SearchService();
+        ReflectionTestUtils.setField(restarted, "snapshotLocation", missing.toString());
+        restarted.init();
+        assertEquals(14, restarted.getIndex().size());
+        assertEquals(1, restarted.getAppliedSequence());
+    }
+
+    /**
+     * Test: Verify that an instance restored from a compacted snapshot reports the same version as one
+     * that applied the changes live
+     */
+    @Test
+    void shouldReportSameVersionAfterRestoringCompactedSnapshot() throws Exception {
+        append("1\t1700000000000\tDELETE\tParis\n"
+                + "2\t1700000000001\tADD\tStuttgart\tBaden-Württemberg\tGermany\t70173\n"
+                + "3\t1700000000002\tUPDATE\tBerlin\tBerlin\tDeutschland\t10115\n");
+        ingestService.ingest();
+        ingestService.compact();
+
+        SearchService restarted = new SearchService();
+        ReflectionTestUtils.setField(restarted, "snapshotLocation", snapshot.toString());
+        restarted.init();
+
+        assertEquals(searchService.getIndexVersion(), restarted.getIndexVersion());
+    }
+
+    /**
+     * Test: Verify that location ids survive compaction and restart, so export cursors stay valid
+     */
+    @Test
+    void shouldKeepLocationIdsAcrossCompaction() throws Exception {
+        append("1\t1700000000000\tDELETE\tParis\n"
+                + "2\t1700000000001\tADD\tStuttgart\tBaden-Württemberg\tGermany\t70173\n");
+        ingestService.ingest();
+        ingestService.compact();
+
+        SearchService restarted = new SearchService();
+        ReflectionTestUtils.setField(restarted, "snapshotLocation", snapshot.toString());
+        restarted.init();
+        append("3\t1700000000002\tADD\tBonn\tNorth Rhine-Westphalia\tGermany\t53111\n");
+        ingestService.ingest();
+        newIngestService(restarted).ingest();
+
+        LocationIndex live = searchService.getIndex();
+        LocationIndex restored = restarted.getIndex();
+        assertEquals(live.idLimit(), restored.idLimit());
+        for (int id = 0; id < live.idLimit(); id++) {
+            assertEquals(String.valueOf(live.get(id)), String.valueOf(restored.get(id)));
+        }
+        assertNull(restored.get(1));
+        assertEquals(live.idOfCity("bonn"), restored.idOfCity("bonn"));
+    }
+
+    /**
+     * Test: Verify that records without the fields of their operation are rejected
+     */
+    @Test
+    void shouldRejectIncompleteRecords() {
+        assertThrows(IllegalArgumentException.class, () -> ChangeRecord.parse("1\t0\tADD\tStuttgart"));
+        assertThrows(IllegalArgumentException.class, () -> ChangeRecord.parse("1\t0\tDELETE\t "));
+    }
+}
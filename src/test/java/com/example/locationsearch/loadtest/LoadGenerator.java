@@ -0,0 +1,231 @@
+package com.example.locationsearch.loadtest;
+
+import com.example.locationsearch.loadtest.TrafficMix.RequestType;
+import com.example.locationsearch.model.Location;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model HTTP load generator for the search application.
+ * - Requests are issued at a fixed arrival rate, independent of how fast responses come back.
+ * - Latency is measured from each request's intended start time rather than its actual send
+ *   time, so stalls are charged to every request scheduled behind them (coordinated-omission
+ *   correction). The uncorrected service time is recorded alongside for comparison.
+ * - Failed and timed-out requests are latency samples too: they are recorded from their
+ *   intended start in a separate histogram and included in the overall distribution, so
+ *   an overloaded server cannot hide its tail by failing requests.
+ * - Logs in once and reuses the session cookie for all requests.
+ * - JSON lookups, geo browsing and exports are scoped to one random location's city or state,
+ *   so each request costs about the same regardless of the data set size.
+ */
+class LoadGenerator {
+    private static final long MAX_TRACKABLE_NANOS = TimeUnit.SECONDS.toNanos(60);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final String baseUrl;
+    private final TrafficMix mix;
+    private final List<String> zipKeys;
+    private final List<String> cityKeys;
+    private final List<String> aliasKeys;
+    private final List<Location> locations;
+    private final HttpClient client;
+    private final ExecutorService executor;
+
+    private final Map<RequestType, Histogram> latencies = new EnumMap<>(RequestType.class);
+    private final Histogram serviceTimes = new ConcurrentHistogram(MAX_TRACKABLE_NANOS, 3);
+    private final Histogram failures = new ConcurrentHistogram(MAX_TRACKABLE_NANOS, 3);
+    private final AtomicLong errors = new AtomicLong();
+    private volatile boolean recording;
+
+    LoadGenerator(String baseUrl, TrafficMix mix, List<String> zipKeys, List<String> cityKeys,
+                  List<String> aliasKeys, List<Location> locations) {
+        this.baseUrl = baseUrl;
+        this.mix = mix;
+        this.zipKeys = zipKeys;
+        this.cityKeys = cityKeys;
+        this.aliasKeys = aliasKeys;
+        this.locations = locations;
+        this.executor = Executors.newFixedThreadPool(4);
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .cookieHandler(new CookieManager())
+                .executor(executor)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        for (RequestType type : RequestType.values()) {
+            latencies.put(type, new ConcurrentHistogram(MAX_TRACKABLE_NANOS, 3));
+        }
+    }
+
+    /**
+     * Logs in via POST /login so that all following requests share one session.
+     */
+    void login() throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"userId\":\"loadtest\",\"password\":\"loadtest\"}"))
+                .build();
+        int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        if (status != 200) {
+            throw new IllegalStateException("Load test login failed with status " + status);
+        }
+    }
+
+    /**
+     * Sends requests at the given rate, first for the warm-up period without recording,
+     * then for the measured period. Returns once all measured requests have completed.
+     *
+     * @param ratePerSecond requests per second
+     * @param warmup        warm-up period, not recorded
+     * @param duration      measured period
+     * @return the measured results
+     */
+    Result run(int ratePerSecond, Duration warmup, Duration duration) throws InterruptedException, TimeoutException {
+        drive(ratePerSecond, warmup);
+        recording = true;
+        long start = System.nanoTime();
+        long sent = drive(ratePerSecond, duration);
+        long elapsed = System.nanoTime() - start;
+        recording = false;
+        executor.shutdown();
+        return new Result(ratePerSecond, sent, elapsed, errors.get(), latencies, failures, serviceTimes);
+    }
+
+    private long drive(int ratePerSecond, Duration period) throws InterruptedException, TimeoutException {
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+        long count = period.toNanos() / intervalNanos;
+        Phaser inFlight = new Phaser(1);
+        long start = System.nanoTime();
+        for (long i = 0; i < count; i++) {
+            long intended = start + i * intervalNanos;
+            long wait;
+            while ((wait = intended - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            RequestType type = mix.next();
+            inFlight.register();
+            long sentAt = System.nanoTime();
+            client.sendAsync(request(type), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, failure) -> {
+                        long now = System.nanoTime();
+                        // Warm-up requests all complete before recording starts and are neither timed nor counted.
+                        if (recording && (failure != null || response.statusCode() >= 400)) {
+                            errors.incrementAndGet();
+                            failures.recordValue(Math.min(now - intended, MAX_TRACKABLE_NANOS));
+                        } else if (recording) {
+                            latencies.get(type).recordValue(Math.min(now - intended, MAX_TRACKABLE_NANOS));
+                            serviceTimes.recordValue(Math.min(now - sentAt, MAX_TRACKABLE_NANOS));
+                        }
+                        inFlight.arriveAndDeregister();
+                    });
+        }
+        inFlight.awaitAdvanceInterruptibly(inFlight.arrive(), 60, TimeUnit.SECONDS);
+        return count;
+    }
+
+    private HttpRequest request(RequestType type) {
+        String path = switch (type) {
+            case ZIP -> search(pick(zipKeys));
+            case CITY -> search(pick(cityKeys));
+            case ALIAS -> search(pick(aliasKeys));
+            case MISS -> search("nowhere " + ThreadLocalRandom.current().nextInt(1000));
+            case INVALID -> search("@" + ThreadLocalRandom.current().nextInt(1000));
+            case ANALYTICS -> "/admin/analytics";
+            case LOOKUP -> "/api/locations/" + segment(pick(ThreadLocalRandom.current().nextBoolean() ? zipKeys : cityKeys));
+            case GEO -> geo(pick(locations));
+            case EXPORT -> export(pick(locations));
+        };
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(REQUEST_TIMEOUT).GET().build();
+    }
+
+    private static String search(String input) {
+        return "/result?input=" + URLEncoder.encode(input, StandardCharsets.UTF_8);
+    }
+
+    private static String geo(Location location) {
+        return "/api/geo/countries/" + segment(location.getCountry())
+                + "/states/" + segment(location.getState()) + "/cities";
+    }
+
+    private static String export(Location location) {
+        return "/api/export/locations?country=" + URLEncoder.encode(location.getCountry(), StandardCharsets.UTF_8)
+                + "&state=" + URLEncoder.encode(location.getState(), StandardCharsets.UTF_8);
+    }
+
+    private static String segment(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8).replace("+", "%20");
+    }
+
+    private static <T> T pick(List<T> values) {
+        return values.get(ThreadLocalRandom.current().nextInt(values.size()));
+    }
+
+    /**
+     * Measured outcome of a load test run.
+     */
+    record Result(int targetRate, long requests, long elapsedNanos, long errors,
+                  Map<RequestType, Histogram> latencies, Histogram failures, Histogram serviceTimes) {
+
+        /**
+         * @return successfully completed requests per second; sent requests that failed or
+         * timed out do not count
+         */
+        double throughput() {
+            return (requests - errors) / (elapsedNanos / 1e9);
+        }
+
+        Histogram overall() {
+            Histogram overall = new Histogram(MAX_TRACKABLE_NANOS, 3);
+            latencies.values().forEach(overall::add);
+            overall.add(failures);
+            return overall;
+        }
+
+        /**
+         * Prints a summary table followed by the full percentile distribution of all requests.
+         */
+        void print(PrintStream out) {
+            out.printf("target rate %d req/s, completed %.1f req/s, %d requests, %d errors%n",
+                    targetRate, throughput(), requests, errors);
+            out.printf("%-16s %8s %10s %10s %10s %10s %10s%n",
+                    "latency (ms)", "count", "p50", "p90", "p99", "p99.9", "max");
+            latencies.forEach((type, histogram) -> row(out, type.name().toLowerCase(), histogram));
+            row(out, "failed", failures);
+            row(out, "all (corrected)", overall());
+            row(out, "all (service)", serviceTimes);
+            out.println();
+            overall().outputPercentileDistribution(out, 1_000_000.0);
+        }
+
+        private static void row(PrintStream out, String name, Histogram h) {
+            if (h.getTotalCount() == 0) {
+                return;
+            }
+            out.printf("%-16s %8d %10.2f %10.2f %10.2f %10.2f %10.2f%n", name, h.getTotalCount(),
+                    h.getValueAtPercentile(50) / 1e6, h.getValueAtPercentile(90) / 1e6,
+                    h.getValueAtPercentile(99) / 1e6, h.getValueAtPercentile(99.9) / 1e6, h.getMaxValue() / 1e6);
+        }
+    }
+}
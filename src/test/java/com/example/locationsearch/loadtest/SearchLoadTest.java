@@ -0,0 +1,79 @@
+package com.example.locationsearch.loadtest;
+
+import com.example.locationsearch.model.Location;
+import com.example.locationsearch.service.SearchService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Load test against the application on an embedded server.
+ * Run with {@code mvn test -Pbenchmark -Dtest=SearchLoadTest}; tune with system properties:
+ *  a. loadtest.rate — requests per second (default 200)
+ *  b. loadtest.warmup / loadtest.duration — ISO-8601 durations (default PT5S / PT20S)
+ *  c. loadtest.mix — request mix (default zip:35,city:20,alias:10,lookup:15,miss:8,invalid:4,geo:4,export:2,analytics:2)
+ * The report is printed and written to target/loadtest/ so that builds can be compared.
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"search.warmup.enabled=false", "request-log.sample-rate=0.01",
+        "search.admin.user-id=loadtest", "search.admin.password=loadtest"})
+class SearchLoadTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private SearchService searchService;
+
+    /**
+     * Load test: drive the configured mix at a fixed arrival rate and report latencies.
+     */
+    @Test
+    void runSearchLoad() throws Exception {
+        List<String> zipKeys = new ArrayList<>();
+        List<String> cityKeys = new ArrayList<>();
+        List<Location> locations = new ArrayList<>();
+        for (String key : searchService.getSearchKeys()) {
+            Location location = searchService.findLocation(key);
+            if (location.getCity().equalsIgnoreCase(key)) {
+                cityKeys.add(key);
+                locations.add(location);
+            } else {
+                zipKeys.add(key);
+            }
+        }
+
+        LoadGenerator generator = new LoadGenerator("http://localhost:" + port,
+                TrafficMix.parse(System.getProperty("loadtest.mix",
+                        "zip:35,city:20,alias:10,lookup:15,miss:8,invalid:4,geo:4,export:2,analytics:2")),
+                zipKeys, cityKeys, searchService.getAliasKeys(), locations);
+        generator.login();
+        LoadGenerator.Result result = generator.run(
+                Integer.getInteger("loadtest.rate", 200),
+                Duration.parse(System.getProperty("loadtest.warmup", "PT5S")),
+                Duration.parse(System.getProperty("loadtest.duration", "PT20S")));
+
+        result.print(System.out);
+        Path dir = Files.createDirectories(Path.of("target", "loadtest"));
+        Path report = dir.resolve("report-"
+                + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".txt");
+        try (PrintStream out = new PrintStream(Files.newOutputStream(report))) {
+            result.print(out);
+        }
+        assertEquals(0, result.errors());
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.locationsearch.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Weighted mix of request types sent by the {@link LoadGenerator}.
+ * Parsed from a spec such as {@code "zip:35,city:20,alias:10,lookup:15,miss:8,invalid:4,geo:4,export:2,analytics:2"}.
+ */
+class TrafficMix {
+
+    /**
+     * Kinds of requests the load test sends.
+     */
+    enum RequestType {
+        ZIP("zip"),
+        CITY("city"),
+        ALIAS("alias"),
+        MISS("miss"),
+        INVALID("invalid"),
+        ANALYTICS("analytics"),
+        LOOKUP("lookup"),
+        GEO("geo"),
+        EXPORT("export");
+
+        final String key;
+
+        RequestType(String key) {
+            this.key = key;
+        }
+    }
+
+    private final RequestType[] types;
+    private final int[] cumulativeWeights;
+    private final int totalWeight;
+
+    private TrafficMix(Map<RequestType, Integer> weights) {
+        this.types = weights.keySet().toArray(new RequestType[0]);
+        this.cumulativeWeights = new int[types.length];
+        int total = 0;
+        for (int i = 0; i < types.length; i++) {
+            total += weights.get(types[i]);
+            cumulativeWeights[i] = total;
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("Traffic mix needs at least one positive weight");
+        }
+        this.totalWeight = total;
+    }
+
+    /**
+     * @param spec comma-separated {@code type:weight} pairs
+     * @return the parsed mix
+     */
+    static TrafficMix parse(String spec) {
+        Map<RequestType, Integer> weights = new EnumMap<>(RequestType.class);
+        for (String part : spec.split(",")) {
+            String[] pair = part.strip().split(":");
+            RequestType type = null;
+            for (RequestType candidate : RequestType.values()) {
+                if (candidate.key.equals(pair[0])) {
+                    type = candidate;
+                }
+            }
+            if (type == null || pair.length != 2) {
+                throw new IllegalArgumentException("Invalid traffic mix entry: " + part);
+            }
+            weights.put(type, Integer.parseInt(pair[1]));
+        }
+        return new TrafficMix(weights);
+    }
+
+    /**
+     * @return a request type drawn according to the weights
+     */
+    RequestType next() {
+        int draw = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (int i = 0; i < types.length; i++) {
+            if (draw < cumulativeWeights[i]) {
+                return types[i];
+            }
+        }
+        return types[types.length - 1];
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.locationsearch.logging;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.slf4j.Logger;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AsyncRequestLoggerTest {
+
+    /**
+     * Test: Verify that queued lines are written by the background writer with their arguments
+     */
+    @Test
+    void shouldWriteQueuedLinesOnWriterThread() throws Exception {
+        Logger target = Mockito.mock(Logger.class);
+        Mockito.when(target.isInfoEnabled()).thenReturn(true);
+        AsyncRequestLogger requestLogger = new AsyncRequestLogger(16, 1.0);
+        requestLogger.start();
+
+        requestLogger.info(target, "event=test value={}", 42);
+        requestLogger.stop();
+
+        Mockito.verify(target).info("event=test value={}", new Object[]{42});
+        assertEquals(1, requestLogger.getWrittenCount());
+    }
+
+    /**
+     * Test: Verify that lines are dropped and counted once the buffer is full
+     */
+    @Test
+    void shouldDropAndCountWhenBufferIsFull() {
+        Logger target = Mockito.mock(Logger.class);
+        Mockito.when(target.isInfoEnabled()).thenReturn(true);
+        AsyncRequestLogger requestLogger = new AsyncRequestLogger(2, 1.0);
+
+        for (int i = 0; i < 5; i++) {
+            requestLogger.info(target, "event=test value={}", i);
+        }
+
+        assertEquals(3, requestLogger.getDroppedCount());
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        requestLogger.bindTo(registry);
+        assertEquals(3, registry.get("request.log.dropped").functionCounter().count());
+    }
+
+    /**
+     * Test: Verify that lines logged while paused are discarded without counting as dropped
+     */
+    @Test
+    void shouldDiscardLinesWhilePaused() {
+        Logger target = Mockito.mock(Logger.class);
+        Mockito.when(target.isInfoEnabled()).thenReturn(true);
+        AsyncRequestLogger requestLogger = new AsyncRequestLogger(1, 1.0);
+
+        requestLogger.setPaused(true);
+        requestLogger.info(target, "event=test value={}", 1);
+        requestLogger.info(target, "event=test value={}", 2);
+        requestLogger.setPaused(false);
+        requestLogger.info(target, "event=test value={}", 3);
+        requestLogger.info(target, "event=test value={}", 4);
+
+        assertEquals(1, requestLogger.getDroppedCount());
+    }
+
+    /**
+     * Test: Verify that nothing is queued and no argument is formatted when INFO is disabled
+     */
+    @Test
+    void shouldSkipLinesWhenInfoIsDisabled() {
+        Logger target = Mockito.mock(Logger.class);
+        AtomicInteger formatted = new AtomicInteger();
+        Object argument = new Object() {
+            @Override
+            public String toString() {
+                formatted.incrementAndGet();
+                return "argument";
+            }
+        };
+        AsyncRequestLogger requestLogger = new AsyncRequestLogger(1, 1.0);
+
+        requestLogger.info(target, "event=test value={}", argument);
+        requestLogger.info(target, "event=test value={}", argument);
+
+        assertEquals(0, requestLogger.getDroppedCount());
+        assertEquals(0, formatted.get());
+    }
+
+    /**
+     * Test: Verify that the sample rate bounds which requests are logged
+     */
+    @Test
+    void shouldHonourSampleRate() {
+        assertTrue(new AsyncRequestLogger(1, 1.0).sample());
+        assertFalse(new AsyncRequestLogger(1, 0.0).sample());
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.locationsearch.service;
+
+import com.example.locationsearch.model.Location;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AliasDictionaryTest {
+
+    private static AliasDictionary read(String tsv) throws IOException {
+        return AliasDictionary.read(new ByteArrayInputStream(tsv.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Test: Verify that aliases carry target, language and kind and share one target per city
+     */
+    @Test
+    void shouldReadAliasesWithLanguageAndKind() throws IOException {
+        AliasDictionary dictionary = read("""
+                # comment
+                München\tMunich\tde
+                Monaco di Baviera\tMunich\tit\talt
+                Vindobona\tVienna\tla\thist
+
+                """);
+
+        int entry = dictionary.find("monaco DI baviera");
+        assertEquals(3, dictionary.size());
+        assertEquals(2, dictionary.targetCount());
+        assertEquals("munich", dictionary.targetKey(dictionary.target(entry)));
+        assertEquals(dictionary.target(dictionary.find("München")), dictionary.target(entry));
+        assertEquals("it", dictionary.language(entry));
+        assertEquals(AliasDictionary.Kind.HISTORICAL, dictionary.kind(dictionary.find("Vindobona")));
+        assertEquals("vindobona", dictionary.alias(dictionary.find("Vindobona")));
+        assertEquals(AliasDictionary.NOT_FOUND, dictionary.find("Monaco"));
+    }
+
+    /**
+     * Test: Verify that decomposed Unicode input matches composed aliases and the first duplicate wins
+     */
+    @Test
+    void shouldNormalizeKeysAndKeepFirstDuplicate() throws IOException {
+        AliasDictionary dictionary = read("Köln\tCologne\tde\nKÖLN\tBerlin\tde\n");
+
+        int entry = dictionary.find(Normalizer.normalize("Köln", Normalizer.Form.NFD));
+        assertEquals("cologne", dictionary.targetKey(dictionary.target(entry)));
+    }
+
+    /**
+     * Test: Verify that all entries stay reachable when the table grows
+     */
+    @Test
+    void shouldFindAllEntriesOfLargeDictionary() {
+        AliasDictionary.Builder builder = new AliasDictionary.Builder();
+        for (int i = 0; i < 10_000; i++) {
+            builder.add("alias-" + i, "city-" + (i % 100), "", AliasDictionary.Kind.ALTERNATE);
+        }
+        AliasDictionary dictionary = builder.build();
+
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals("city-" + (i % 100), dictionary.targetKey(dictionary.target(dictionary.find("Alias-" + i))));
+        }
+        assertEquals(100, dictionary.targetCount());
+    }
+
+    /**
+     * Test: Verify that malformed lines are rejected
+     */
+    @Test
+    void shouldRejectMalformedLines() {
+        assertThrows(IllegalArgumentException.class, () -> read("Wien\n"));
+        assertThrows(IllegalArgumentException.class, () -> read("Wien\tVienna\tde\tnickname\n"));
+    }
+
+    /**
+     * Test: Verify that the index resolves aliases to location ids and follows deletes and re-adds
+     */
+    @Test
+    void shouldResolveAliasesInIndex() throws IOException {
+        LocationIndex index = LocationIndex.empty()
+                .apply(List.of(LocationChange.upsert(new Location("Vienna", List.of("1010"), "Vienna", "Austria"))))
+                .withAliases(read("Wien\tVienna\tde\nDen Haag\tThe Hague\tnl\n"));
+
+        assertEquals("Vienna", index.findByAlias("wien").getCity());
+        assertEquals(StringIntIndex.NOT_FOUND, index.idOfAlias("Den Haag"));
+
+        LocationIndex changed = index.apply(List.of(
+                LocationChange.delete("Vienna"),
+                LocationChange.upsert(new Location("The Hague", List.of("2511"), "South Holland", "Netherlands"))));
+        assertEquals(StringIntIndex.NOT_FOUND, changed.idOfAlias("Wien"));
+        assertEquals("The Hague", changed.findByAlias("den haag").getCity());
+    }
+
+    /**
+     * Test: Verify that city keys map back to their target and changed cities re-resolve within one batch
+     */
+    @Test
+    void shouldRetargetOnlyChangedCities() throws IOException {
+        AliasDictionary dictionary = read("Wien\tVienna\tde\nMünchen\tMunich\tde\n");
+        assertEquals(dictionary.target(dictionary.find("München")), dictionary.targetOf("munich"));
+        assertEquals(AliasDictionary.NOT_FOUND, dictionary.targetOf("berlin"));
+
+        LocationIndex index = LocationIndex.empty()
+                .apply(List.of(
+                        LocationChange.upsert(new Location("Vienna", List.of("1010"), "Vienna", "Austria")),
+                        LocationChange.upsert(new Location("Munich", List.of("80331"), "Bavaria", "Germany"))))
+                .withAliases(dictionary);
+        int vienna = index.idOfAlias("Wien");
+
+        LocationIndex changed = index.apply(List.of(
+                LocationChange.upsert(new Location("Berlin", List.of("10115"), "Berlin", "Germany")),
+                LocationChange.delete("munich"),
+                LocationChange.upsert(new Location("Munich", List.of("80333"), "Bavaria", "Germany"))));
+        assertEquals(vienna, changed.idOfAlias("Wien"));
+        assertEquals("80333", changed.findByAlias("München").getZipCodes().get(0));
+        assertEquals(changed.idOfCity("munich"), changed.idOfAlias("München"));
+    }
+}
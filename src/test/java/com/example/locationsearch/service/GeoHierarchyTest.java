@@ -0,0 +1,174 @@
+package com.example.locationsearch.service;
+
+import com.example.locationsearch.model.Location;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class GeoHierarchyTest {
+
+    private static LocationIndex indexOf(Location... locations) {
+        return LocationIndex.empty().apply(List.of(locations).stream().map(LocationChange::upsert).toList());
+    }
+
+    /**
+     * Test: Verify that countries, states and cities are ordered by name with precomputed counts
+     */
+    @Test
+    void shouldGroupLocationsByCountryAndState() {
+        LocationIndex index = indexOf(
+                new Location("Munich", List.of("80331", "80333"), "Bavaria", "Germany"),
+                new Location("Paris", List.of("75001"), "Île-de-France", "France"),
+                new Location("Dortmund", List.of("44135"), "North Rhine-Westphalia", "Germany"),
+                new Location("Cologne", List.of("50667", "50668", "50670"), "North Rhine-Westphalia", "Germany"));
+        GeoHierarchy hierarchy = index.hierarchy();
+
+        assertEquals(2, hierarchy.countryCount());
+        assertEquals("France", hierarchy.countryName(0));
+        int germany = hierarchy.findCountry("GERMANY");
+        assertEquals(1, germany);
+        assertEquals(2, hierarchy.countryStateCount(germany));
+        assertEquals(3, hierarchy.countryCityCount(germany));
+        assertEquals(6, hierarchy.countryZipCount(germany));
+
+        int nrw = hierarchy.stateAt(germany, 1);
+        assertEquals("North Rhine-Westphalia", hierarchy.stateName(nrw));
+        assertEquals(nrw, hierarchy.findState(germany, "north rhine-westphalia"));
+        assertEquals(germany, hierarchy.stateCountry(nrw));
+        assertEquals(2, hierarchy.stateCityCount(nrw));
+        assertEquals(4, hierarchy.stateZipCount(nrw));
+        assertEquals("Cologne", index.get(hierarchy.cityAt(nrw, 0)).getCity());
+        assertEquals("Dortmund", index.get(hierarchy.cityAt(nrw, 1)).getCity());
+    }
+
+    /**
+     * Test: Verify that the hierarchy follows upserts and deletes and drops empty countries
+     */
+    @Test
+    void shouldFollowIndexChanges() {
+        LocationIndex index = indexOf(
+                new Location("Vienna", List.of("1010"), "Vienna", "Austria"),
+                new Location("Berlin", List.of("10115"), "Berlin", "Germany"));
+
+        LocationIndex changed = index.apply(List.of(
+                LocationChange.delete("vienna"),
+                LocationChange.upsert(new Location("Berlin", List.of("10115", "10117"), "Berlin", "Germany"))));
+        GeoHierarchy hierarchy = changed.hierarchy();
+
+        assertEquals(1, hierarchy.countryCount());
+        assertEquals(StringIntIndex.NOT_FOUND, hierarchy.findCountry("Austria"));
+        assertEquals(2, hierarchy.countryZipCount(hierarchy.findCountry("Germany")));
+        assertEquals(2, index.hierarchy().countryCount());
+    }
+
+    /**
+     * Test: Verify that unknown states are not found and missing names are grouped under an empty name
+     */
+    @Test
+    void shouldHandleUnknownAndMissingNames() {
+        GeoHierarchy hierarchy = indexOf(new Location("Atlantis", null, null)).hierarchy();
+
+        int unnamed = hierarchy.findCountry("");
+        assertEquals(0, unnamed);
+        assertEquals(0, hierarchy.countryZipCount(unnamed));
+        assertEquals(StringIntIndex.NOT_FOUND, hierarchy.findState(unnamed, "Bavaria"));
+        assertEquals(StringIntIndex.NOT_FOUND, GeoHierarchy.EMPTY.findCountry("Germany"));
+    }
+
+    /**
+     * Test: Verify that a state change keeps country and state ids and leaves other states alone
+     */
+    @Test
+    void shouldKeepIdsWhenOnlyCitiesChange() {
+        LocationIndex index = indexOf(
+                new Location("Munich", List.of("80331"), "Bavaria", "Germany"),
+                new Location("Cologne", List.of("50667"), "North Rhine-Westphalia", "Germany"));
+        GeoHierarchy before = index.hierarchy();
+        int nrw = before.findState(before.findCountry("Germany"), "North Rhine-Westphalia");
+
+        GeoHierarchy after = index.apply(List.of(LocationChange.upsert(
+                new Location("Aachen", List.of("52062", "52064"), "North Rhine-Westphalia", "Germany")))).hierarchy();
+
+        assertEquals(nrw, after.findState(after.findCountry("Germany"), "North Rhine-Westphalia"));
+        assertEquals(2, after.stateCityCount(nrw));
+        assertEquals(3, after.stateZipCount(nrw));
+        assertEquals(4, after.countryZipCount(after.findCountry("Germany")));
+        assertEquals(1, after.stateCityCount(after.findState(after.findCountry("Germany"), "Bavaria")));
+    }
+
+    /**
+     * Test: Verify that ZIP rollups count repeated and taken-over ZIP codes once
+     */
+    @Test
+    void shouldCountOverlappingZipsOnce() {
+        LocationIndex index = indexOf(
+                new Location("Cologne", List.of("50667", "50668"), "North Rhine-Westphalia", "Germany"),
+                new Location("Munich", List.of("80331"), "Bavaria", "Germany"));
+
+        LocationIndex changed = index.apply(List.of(LocationChange.upsert(
+                new Location("Bonn", List.of("53111", "53111", "50668", "80331"), "North Rhine-Westphalia", "Germany"))));
+        GeoHierarchy hierarchy = changed.hierarchy();
+        int germany = hierarchy.findCountry("Germany");
+
+        assertEquals(changed.zipCount(), hierarchy.countryZipCount(germany));
+        assertEquals(4, hierarchy.countryZipCount(germany));
+        assertEquals(4, hierarchy.stateZipCount(hierarchy.findState(germany, "North Rhine-Westphalia")));
+        assertEquals(0, hierarchy.stateZipCount(hierarchy.findState(germany, "Bavaria")));
+        assertEquals(List.of("53111", "50668", "80331"), changed.findByCity("bonn").getZipCodes());
+    }
+
+    /**
+     * Test: Verify that applying random batches gives the same hierarchy as building it from scratch
+     */
+    @Test
+    void shouldMatchFullBuildAfterRandomChanges() {
+        Random random = new Random(42);
+        String[] countries = {"Germany", "France", "Italy"};
+        String[] states = {"North", "South", "East"};
+        LocationIndex index = LocationIndex.empty();
+        for (int round = 0; round < 200; round++) {
+            List<LocationChange> batch = new ArrayList<>();
+            for (int i = random.nextInt(4); i >= 0; i--) {
+                String city = "City" + random.nextInt(30);
+                if (random.nextInt(4) == 0) {
+                    batch.add(LocationChange.delete(city));
+                } else {
+                    List<String> zips = List.of(city + "-1", city + "-2").subList(0, 1 + random.nextInt(2));
+                    batch.add(LocationChange.upsert(new Location(city, zips,
+                            states[random.nextInt(states.length)], countries[random.nextInt(countries.length)])));
+                }
+            }
+            index = index.apply(batch);
+
+            Location[] byId = new Location[index.idLimit()];
+            for (int id = 0; id < byId.length; id++) {
+                byId[id] = index.get(id);
+            }
+            assertEquals(describe(GeoHierarchy.build(byId)), describe(index.hierarchy()));
+        }
+    }
+
+    private static String describe(GeoHierarchy hierarchy) {
+        StringBuilder out = new StringBuilder();
+        for (int country = 0; country < hierarchy.countryCount(); country++) {
+            out.append(hierarchy.countryName(country)).append(' ').append(hierarchy.countryCityCount(country))
+                    .append('/').append(hierarchy.countryZipCount(country)).append('\n');
+            for (int i = 0; i < hierarchy.countryStateCount(country); i++) {
+                int state = hierarchy.stateAt(country, i);
+                assertEquals(country, hierarchy.stateCountry(state));
+                assertEquals(state, hierarchy.findState(country, hierarchy.stateName(state)));
+                out.append("  ").append(hierarchy.stateName(state)).append(' ')
+                        .append(hierarchy.stateZipCount(state)).append(':');
+                for (int c = 0; c < hierarchy.stateCityCount(state); c++) {
+                    out.append(' ').append(hierarchy.cityAt(state, c));
+                }
+                out.append('\n');
+            }
+        }
+        return out.toString();
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.locationsearch.service;
+
+import com.example.locationsearch.model.Location;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Benchmark: lookup throughput of {@link SearchService} with and without a concurrent
+ * stream of online updates. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class SearchServiceContentionBenchmark {
+
+    private static final long MEASURE_MILLIS = 3_000;
+    private static final int LOCATIONS = 100_000;
+
+    /**
+     * Benchmark: compare read throughput while idle and while a writer applies updates.
+     */
+    @Test
+    void compareReadThroughputUnderWrites() throws Exception {
+        SearchService searchService = new SearchService();
+        searchService.init();
+        List<LocationChange> changes = new ArrayList<>(LOCATIONS);
+        for (int i = 0; i < LOCATIONS; i++) {
+            changes.add(LocationChange.upsert(new Location("City " + i,
+                    List.of(String.valueOf(100_000 + i)), "State " + (i % 50), "Country")));
+        }
+        searchService.apply(changes);
+        List<String> keys = searchService.getSearchKeys();
+        int readers = Math.max(2, Runtime.getRuntime().availableProcessors() - 1);
+
+        measure("warm-up", searchService, keys, readers, false);
+        measure("reads only", searchService, keys, readers, false);
+        measure("reads + writes", searchService, keys, readers, true);
+    }
+
+    private static void measure(String name, SearchService searchService, List<String> keys,
+                                int readers, boolean withWriter) throws InterruptedException {
+        AtomicBoolean running = new AtomicBoolean(true);
+        LongAdder reads = new LongAdder();
+        LongAdder writes = new LongAdder();
+        CountDownLatch done = new CountDownLatch(readers + (withWriter ? 1 : 0));
+
+        for (int r = 0; r < readers; r++) {
+            int offset = r * 7919;
+            new Thread(() -> {
+                long local = 0;
+                for (int i = offset; running.get(); i++) {
+                    if (searchService.findLocation(keys.get(Math.floorMod(i, keys.size()))) != null) {
+                        local++;
+                    }
+                }
+                reads.add(local);
+                done.countDown();
+            }).start();
+        }
+        if (withWriter) {
+            new Thread(() -> {
+                for (int i = 0; running.get(); i++) {
+                    searchService.upsert(new Location("Writer City", List.of("W" + (i % 1000)), "State", "Country"));
+                    writes.increment();
+                }
+                done.countDown();
+            }).start();
+        }
+
+        TimeUnit.MILLISECONDS.sleep(MEASURE_MILLIS);
+        running.set(false);
+        done.await();
+        System.out.printf("%-16s %2d readers  %,14.0f reads/s  %,8.0f writes/s%n", name, readers,
+                reads.sum() * 1000.0 / MEASURE_MILLIS, writes.sum() * 1000.0 / MEASURE_MILLIS);
+    }
+}
@@ -1,13 +1,23 @@
 package com.example.locationsearch.service;
 
 import com.example.locationsearch.model.Location;
+import com.example.locationsearch.wire.LocationFrames;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class SearchServiceTest {
 
@@ -42,6 +52,31 @@ class SearchServiceTest {
         assertEquals("France", result.getCountry());
     }
 
+    /**
+     * Test: Verify that alternate names from the alias dictionary find their city, after ZIP codes and cities
+     */
+    @Test
+    void shouldFindLocationByAlias() {
+        SearchService withAliases = new SearchService();
+        withAliases.aliasesLocation = "classpath:aliases.tsv";
+        withAliases.init();
+
+        assertEquals("Munich", withAliases.findLocation("München").getCity());
+        assertEquals("Munich", withAliases.findLocation("monaco di baviera").getCity());
+        assertEquals("Vienna", withAliases.findLocation("WIEN").getCity());
+        assertEquals("New York", withAliases.findLocation("NYC").getCity());
+        assertNull(searchService.findLocation("München"));
+        assertNotEquals(searchService.getIndexVersion(), withAliases.getIndexVersion());
+        assertTrue(withAliases.getAliasKeys().contains("münchen"));
+        assertTrue(searchService.getAliasKeys().isEmpty());
+
+        withAliases.delete("Munich");
+        assertNull(withAliases.findLocation("München"));
+        assertFalse(withAliases.getAliasKeys().contains("münchen"));
+        withAliases.upsert(new Location("Munich", List.of("80331"), "Bavaria", "Germany"));
+        assertEquals("80331", withAliases.findLocation("Munique").getZipCodes().get(0));
+    }
+
     /**
      * Test: Verify that when input is unknown then return null
      */
@@ -60,4 +95,110 @@ class SearchServiceTest {
         assertNull(result);
     }
 
-}
\ No newline at end of file
+    /**
+     * Test: Verify that two instances loading the same data report the same index version
+     */
+    @Test
+    void shouldReportSameIndexVersionForSameData() {
+        SearchService other = new SearchService();
+        other.init();
+        assertEquals(searchService.getIndexVersion(), other.getIndexVersion());
+    }
+
+    /**
+     * Test: Verify that a service loaded from a written snapshot answers the same lookups
+     */
+    @Test
+    void shouldLoadLocationsFromSnapshot(@TempDir Path dir) throws Exception {
+        Path snapshot = dir.resolve("index.bin");
+        searchService.writeSnapshot(snapshot);
+
+        SearchService restored = new SearchService();
+        restored.snapshotLocation = snapshot.toString();
+        restored.init();
+
+        Location byCity = restored.findLocation("Munich");
+        assertNotNull(byCity);
+        assertEquals("Bavaria", byCity.getState());
+        assertEquals(5, byCity.getZipCodes().size());
+        assertEquals("London", restored.findLocation("SW1A 1AA").getCity());
+    }
+
+    /**
+     * Test: Verify that a missing snapshot fails initialization instead of serving no data
+     */
+    @Test
+    void shouldFailInitWhenSnapshotIsMissing(@TempDir Path dir) {
+        SearchService restored = new SearchService();
+        restored.snapshotLocation = dir.resolve("missing.bin").toString();
+        assertThrows(IllegalStateException.class, restored::init);
+    }
+
+    /**
+     * Test: Verify that an added location is found by city and ZIP and changes the index version
+     */
+    @Test
+    void shouldFindUpsertedLocation() {
+        long before = searchService.getIndexVersion();
+        searchService.upsert(new Location("Stuttgart", List.of("70173", "70174"), "Baden-Württemberg", "Germany"));
+
+        assertEquals("Baden-Württemberg", searchService.findLocation("stuttgart").getState());
+        assertEquals("Stuttgart", searchService.findLocation("70174").getCity());
+        assertNotEquals(before, searchService.getIndexVersion());
+    }
+
+    /**
+     * Test: Verify that a ZIP code claimed by another city is removed from its previous city, frame included
+     */
+    @Test
+    void shouldRemoveTakenOverZipFromPreviousCity() {
+        long before = searchService.getIndexVersion();
+        searchService.upsert(new Location("Potsdam", List.of("10115", "14467"), "Brandenburg", "Germany"));
+
+        LocationIndex index = searchService.getIndex();
+        int berlin = index.idOfCity("berlin");
+        assertEquals(index.idOfCity("potsdam"), index.idOfZip("10115"));
+        assertFalse(index.get(berlin).getZipCodes().contains("10115"));
+        assertFalse(LocationFrames.decode(ByteBuffer.wrap(index.frame(berlin))).location()
+                .getZipCodes().contains("10115"));
+        assertNotEquals(before, searchService.getIndexVersion());
+    }
+
+    /**
+     * Test: Verify that replacing a location drops ZIP codes it no longer lists
+     */
+    @Test
+    void shouldReplaceLocationWithSameCity() {
+        searchService.upsert(new Location("berlin", List.of("10115", "10999"), "Berlin", "Deutschland"));
+
+        assertEquals("Deutschland", searchService.findLocation("Berlin").getCountry());
+        assertEquals("Deutschland", searchService.findLocation("10999").getCountry());
+        assertNull(searchService.findLocation("10117"));
+        assertEquals(15, searchService.getIndex().size());
+    }
+
+    /**
+     * Test: Verify that a deleted location is no longer found by city or ZIP
+     */
+    @Test
+    void shouldNotFindDeletedLocation() {
+        assertTrue(searchService.delete("PARIS"));
+
+        assertNull(searchService.findLocation("Paris"));
+        assertNull(searchService.findLocation("75001"));
+        assertFalse(searchService.delete("Paris"));
+    }
+
+    /**
+     * Test: Verify that a ZIP code taken over by another location stays with its new owner
+     */
+    @Test
+    void shouldKeepZipTakenOverByAnotherLocation() {
+        searchService.upsert(new Location("Mitte", List.of("10115"), "Berlin", "Germany"));
+        searchService.delete("Berlin");
+
+        assertEquals("Mitte", searchService.findLocation("10115").getCity());
+        assertNull(searchService.findLocation("10117"));
+    }
+
+}
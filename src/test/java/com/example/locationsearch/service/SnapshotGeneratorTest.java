@@ -0,0 +1,31 @@
+package com.example.locationsearch.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SnapshotGeneratorTest {
+
+    /**
+     * Test: Verify that the generator writes a snapshot, creating directories, that loads the same index
+     */
+    @Test
+    void shouldWriteLoadableSnapshot(@TempDir Path dir) throws Exception {
+        SearchService searchService = new SearchService();
+        searchService.init();
+        SnapshotGenerator generator = new SnapshotGenerator();
+        generator.searchService = searchService;
+        generator.target = dir.resolve("classes/index.bin").toString();
+
+        Path written = generator.generate();
+
+        SearchService restored = new SearchService();
+        restored.snapshotLocation = written.toString();
+        restored.init();
+        assertEquals(searchService.getIndex().size(), restored.getIndex().size());
+        assertEquals("Munich", restored.findLocation("80331").getCity());
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.locationsearch.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class StringIntIndexTest {
+
+    /**
+     * Test: Verify that keys map to their ids and unknown keys are not found
+     */
+    @Test
+    void shouldMapKeysToIds() {
+        StringIntIndex index = StringIntIndex.empty().with("berlin", 1).with("paris", 2);
+        assertEquals(1, index.get("berlin"));
+        assertEquals(2, index.get("paris"));
+        assertEquals(StringIntIndex.NOT_FOUND, index.get("rome"));
+        assertEquals(2, index.size());
+    }
+
+    /**
+     * Test: Verify that derived indexes leave the original untouched (copy-on-write)
+     */
+    @Test
+    void shouldNotChangeOriginalOnWrite() {
+        StringIntIndex original = StringIntIndex.empty().with("berlin", 1);
+        StringIntIndex replaced = original.with("berlin", 7);
+        StringIntIndex removed = original.without("berlin");
+
+        assertEquals(1, original.get("berlin"));
+        assertEquals(7, replaced.get("berlin"));
+        assertEquals(StringIntIndex.NOT_FOUND, removed.get("berlin"));
+        assertSame(original, original.without("rome"));
+    }
+
+    /**
+     * Test: Verify that all keys stay reachable through growth and removal of colliding keys
+     */
+    @Test
+    void shouldKeepKeysReachableAfterResizeAndRemoval() {
+        StringIntIndex.Editor editor = StringIntIndex.empty().edit();
+        for (int i = 0; i < 10_000; i++) {
+            editor.put(String.valueOf(10_000 + i), i);
+        }
+        for (int i = 0; i < 10_000; i += 2) {
+            editor.remove(String.valueOf(10_000 + i));
+        }
+        StringIntIndex index = editor.build();
+
+        assertEquals(5_000, index.size());
+        for (int i = 0; i < 10_000; i++) {
+            int expected = i % 2 == 0 ? StringIntIndex.NOT_FOUND : i;
+            assertEquals(expected, index.get(String.valueOf(10_000 + i)));
+        }
+    }
+
+    /**
+     * Test: Verify that negative ids and edits after build are rejected
+     */
+    @Test
+    void shouldRejectInvalidEdits() {
+        StringIntIndex.Editor editor = StringIntIndex.empty().edit();
+        assertThrows(IllegalArgumentException.class, () -> editor.put("berlin", -1));
+        editor.build();
+        assertThrows(IllegalStateException.class, () -> editor.put("berlin", 1));
+    }
+}
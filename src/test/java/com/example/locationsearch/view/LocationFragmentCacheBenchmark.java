@@ -0,0 +1,46 @@
+package com.example.locationsearch.view;
+
+import com.example.locationsearch.model.Location;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+/**
+ * Benchmark: rendering the result fragment on every request versus serving it from
+ * {@link LocationFragmentCache}. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class LocationFragmentCacheBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 20_000;
+    private static final int MEASURED_ITERATIONS = 200_000;
+
+    private final Location location = new Location("Munich",
+            List.of("80331", "80333", "80335", "80469", "80538"), "Bavaria", "Germany");
+
+    /**
+     * Benchmark: compare throughput of per-request rendering and cached fragments.
+     */
+    @Test
+    void compareRenderedPerRequestWithCachedFragment() {
+        LocationFragmentCache fragmentCache =
+                new LocationFragmentCache(LocationFragmentCacheTest.templateEngine(), 10_000);
+
+        run("rendered per request", () -> fragmentCache.renderUncached(location));
+        run("cached fragment", () -> fragmentCache.render(location));
+    }
+
+    private static void run(String name, Runnable task) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            task.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            task.run();
+        }
+        long elapsed = System.nanoTime() - start;
+        System.out.printf("%-22s %,12.0f ops/s  %,8.0f ns/op%n", name,
+                MEASURED_ITERATIONS / (elapsed / 1e9), (double) elapsed / MEASURED_ITERATIONS);
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.locationsearch.view;
+
+import com.example.locationsearch.model.Location;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LocationFragmentCacheTest {
+
+    private final Location munich =
+            new Location("Munich", List.of("80331", "80333"), "Bavaria", "Germany");
+
+    private LocationFragmentCache fragmentCache;
+
+    @BeforeEach
+    void setUp() {
+        fragmentCache = new LocationFragmentCache(templateEngine(), 2);
+    }
+
+    /**
+     * Creates a template engine reading the application templates from the classpath.
+     */
+    static SpringTemplateEngine templateEngine() {
+        ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+        resolver.setPrefix("templates/");
+        resolver.setSuffix(".html");
+        SpringTemplateEngine engine = new SpringTemplateEngine();
+        engine.setTemplateResolver(resolver);
+        engine.setEnableSpringELCompiler(true);
+        return engine;
+    }
+
+    /**
+     * Test: Verify that the rendered fragment contains the location details and ZIP codes
+     */
+    @Test
+    void shouldRenderLocationDetails() {
+        String html = fragmentCache.render(munich);
+        assertTrue(html.contains("Location Details"));
+        assertTrue(html.contains("Bavaria"));
+        assertTrue(html.contains("80331"));
+        assertTrue(html.contains("80333"));
+    }
+
+    /**
+     * Test: Verify that a location is rendered once, whichever query found it
+     */
+    @Test
+    void shouldServeCachedFragmentForSameLocation() {
+        String first = fragmentCache.render(munich);
+        String second = fragmentCache.render(munich);
+        assertSame(first, second);
+        assertEquals(1, fragmentCache.size());
+    }
+
+    /**
+     * Test: Verify that a replaced location is rendered again even if it is equal in content
+     */
+    @Test
+    void shouldRenderAgainForReplacedLocation() {
+        String first = fragmentCache.render(munich);
+        Location renamed = new Location("Munich", List.of("80331"), "Bavaria", "Deutschland");
+        String second = fragmentCache.render(renamed);
+        assertTrue(first.contains("Germany"));
+        assertTrue(second.contains("Deutschland"));
+        assertEquals(2, fragmentCache.size());
+    }
+
+    /**
+     * Test: Verify that the cache never holds more than its configured capacity and keeps recently read entries
+     */
+    @Test
+    void shouldEvictBeyondCapacity() {
+        Location cologne = new Location("Cologne", List.of("50667"), "North Rhine-Westphalia", "Germany");
+        Location hamburg = new Location("Hamburg", List.of("20095"), "Hamburg", "Germany");
+        String munichHtml = fragmentCache.render(munich);
+        fragmentCache.render(cologne);
+        fragmentCache.render(munich);
+        fragmentCache.render(hamburg);
+        assertEquals(2, fragmentCache.size());
+        assertSame(munichHtml, fragmentCache.render(munich));
+    }
+
+    /**
+     * Test: Verify that a fragment inserted into a full cache survives the eviction it triggers
+     */
+    @Test
+    void shouldKeepNewestFragmentWhenFull() {
+        LocationFragmentCache cache = new LocationFragmentCache(templateEngine(), 3);
+        for (int i = 0; i < 3; i++) {
+            cache.render(new Location("City" + i, List.of("1000" + i), "State", "Country"));
+        }
+        Location newest = new Location("Newest", List.of("20000"), "State", "Country");
+        String html = cache.render(newest);
+
+        assertEquals(3, cache.size());
+        assertSame(html, cache.render(newest));
+    }
+}
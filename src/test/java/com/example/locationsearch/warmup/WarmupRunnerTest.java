@@ -0,0 +1,73 @@
+package com.example.locationsearch.warmup;
+
+import com.example.locationsearch.analytics.QueryAnalytics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "search.warmup.requests=100")
+class WarmupRunnerTest {
+
+    @Autowired
+    private WarmupRunner warmupRunner;
+
+    @Autowired
+    private QueryAnalytics queryAnalytics;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    /**
+     * Test: Verify that the warm-up replays the configured number of requests and reports latencies
+     */
+    @Test
+    void shouldCompleteWarmupBeforeStartupFinishes() {
+        WarmupReport report = warmupRunner.getReport();
+        assertEquals("COMPLETED", report.status());
+        assertEquals(100, report.requests());
+        assertNotNull(report.p99Latency());
+    }
+
+    /**
+     * Test: Verify that warm-up queries are not left in the query analytics
+     */
+    @Test
+    void shouldDiscardWarmupAnalytics() {
+        assertEquals(0, queryAnalytics.report().totalQueries());
+    }
+
+    /**
+     * Test: Verify that the readiness probe is UP and includes the warm-up details
+     */
+    @Test
+    void shouldReportReadinessWithWarmupDetails() {
+        ResponseEntity<String> response = restTemplate.getForEntity("/actuator/health/readiness", String.class);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertTrue(response.getBody().contains("\"warmup\""));
+        assertTrue(response.getBody().contains("\"COMPLETED\""));
+    }
+
+    /**
+     * Test: Verify that zero requests skips the warm-up and a negative count is rejected
+     */
+    @Test
+    void shouldSkipWarmupWithoutRequests() {
+        WarmupRunner runner = new WarmupRunner();
+        runner.enabled = true;
+        runner.requests = 0;
+        runner.run(null);
+        assertEquals("SKIPPED", runner.getReport().status());
+
+        runner.requests = -1;
+        assertThrows(IllegalArgumentException.class, () -> runner.run(null));
+    }
+}
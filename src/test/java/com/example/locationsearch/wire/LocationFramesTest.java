@@ -0,0 +1,68 @@
+package com.example.locationsearch.wire;
+
+import com.example.locationsearch.model.Location;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LocationFramesTest {
+
+    /**
+     * Test: Verify that a location survives encoding and decoding, including non-ASCII names
+     */
+    @Test
+    void shouldRoundTripLocation() {
+        Location paris = new Location("Paris", List.of("75001", "75002"), "Île-de-France", "France");
+
+        byte[] frame = LocationFrames.encode(7, paris);
+        ByteBuffer buffer = ByteBuffer.wrap(frame);
+        LocationFrames.Frame decoded = LocationFrames.decode(buffer);
+
+        assertEquals(frame.length - 4, ByteBuffer.wrap(frame).getInt());
+        assertEquals(7, decoded.id());
+        assertEquals(paris.toString(), decoded.location().toString());
+        assertFalse(buffer.hasRemaining());
+    }
+
+    /**
+     * Test: Verify that consecutive frames decode in order and the not-found frame decodes to null
+     */
+    @Test
+    void shouldDecodeConsecutiveFrames() {
+        String longName = "x".repeat(70_000);
+        byte[] first = LocationFrames.encode(1, new Location(longName, null, null));
+        byte[] second = LocationFrames.encode(2, new Location("Rome", List.of("00118"), "Lazio", "Italy"));
+        ByteBuffer buffer = ByteBuffer.allocate(first.length + 4 + second.length)
+                .put(first).put(LocationFrames.NOT_FOUND).put(second).flip();
+
+        assertEquals(longName, LocationFrames.decode(buffer).location().getCity());
+        assertNull(LocationFrames.decode(buffer));
+        assertEquals("Rome", LocationFrames.decode(buffer).location().getCity());
+    }
+
+    /**
+     * Test: Verify that batch queries round-trip and malformed or oversized bodies are rejected
+     */
+    @Test
+    void shouldEncodeAndValidateQueries() {
+        List<String> queries = List.of("Berlin", "10115", "München");
+        byte[] body = LocationFrames.encodeQueries(queries);
+
+        assertEquals(queries, LocationFrames.decodeQueries(body, 3));
+        assertThrows(IllegalArgumentException.class, () -> LocationFrames.decodeQueries(body, 2));
+        assertThrows(IllegalArgumentException.class,
+                () -> LocationFrames.decodeQueries(Arrays.copyOf(body, body.length - 1), 3));
+        byte[] longQuery = LocationFrames.encodeQueries(List.of("x".repeat(LocationFrames.MAX_QUERY_BYTES + 1)));
+        assertThrows(IllegalArgumentException.class, () -> LocationFrames.decodeQueries(longQuery, 3));
+        byte[] frame = LocationFrames.encode(1, new Location("Rome", List.of("00118"), "Lazio", "Italy"));
+        assertThrows(IllegalArgumentException.class,
+                () -> LocationFrames.decode(ByteBuffer.wrap(Arrays.copyOf(frame, frame.length - 2))));
+    }
+}
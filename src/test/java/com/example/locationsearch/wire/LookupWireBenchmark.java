@@ -0,0 +1,106 @@
+package com.example.locationsearch.wire;
+
+import com.example.locationsearch.model.Location;
+import com.example.locationsearch.service.LocationIndex;
+import com.example.locationsearch.service.SearchService;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Codec benchmark: answering a batch of 100 lookups as JSON versus as pre-encoded
+ * {@link LocationFrames}, for the server side (resolve and encode) and the client side
+ * (decode). Queries are resolved with {@link LocationIndex#resolve(String)} like the
+ * controller does, but without HTTP, sessions or servlet I/O, so the numbers compare the
+ * formats only. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class LookupWireBenchmark {
+
+    private static final int BATCH_SIZE = 100;
+    private static final int WARMUP_ITERATIONS = 20_000;
+    private static final int MEASURED_ITERATIONS = 100_000;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * Benchmark: compare throughput and response size of the JSON and binary formats.
+     */
+    @Test
+    void compareJsonWithFrames() throws IOException {
+        SearchService searchService = new SearchService();
+        searchService.init();
+        LocationIndex index = searchService.getIndex();
+        List<String> keys = index.keys();
+        Random random = new Random(42);
+        List<String> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            batch.add(keys.get(random.nextInt(keys.size())));
+        }
+        ReusableOutput out = new ReusableOutput();
+
+        serveJson(index, batch, out);
+        byte[] json = out.toByteArray();
+        serveFrames(index, batch, out);
+        byte[] frames = out.toByteArray();
+        System.out.printf("response size per batch: json %,d bytes, frames %,d bytes%n", json.length, frames.length);
+
+        run("json encode", () -> serveJson(index, batch, out));
+        run("frames encode", () -> serveFrames(index, batch, out));
+        run("json decode", () -> objectMapper.readValue(json, new TypeReference<List<Location>>() { }));
+        run("frames decode", () -> {
+            ByteBuffer buffer = ByteBuffer.wrap(frames);
+            while (buffer.hasRemaining()) {
+                LocationFrames.decode(buffer);
+            }
+        });
+    }
+
+    private void serveJson(LocationIndex index, List<String> batch, ReusableOutput out) throws IOException {
+        out.reset();
+        List<Location> locations = new ArrayList<>(batch.size());
+        for (String query : batch) {
+            locations.add(index.get(index.resolve(query)));
+        }
+        objectMapper.writeValue((OutputStream) out, locations);
+    }
+
+    private static void serveFrames(LocationIndex index, List<String> batch, ReusableOutput out) {
+        out.reset();
+        for (String query : batch) {
+            out.writeBytes(index.frame(index.resolve(query)));
+        }
+    }
+
+    private static void run(String name, IoTask task) throws IOException {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            task.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            task.run();
+        }
+        long elapsed = System.nanoTime() - start;
+        System.out.printf("%-14s %,12.0f batches/s  %,8.0f ns/batch%n", name,
+                MEASURED_ITERATIONS / (elapsed / 1e9), (double) elapsed / MEASURED_ITERATIONS);
+    }
+
+    private interface IoTask {
+        void run() throws IOException;
+    }
+
+    private static final class ReusableOutput extends ByteArrayOutputStream {
+        ReusableOutput() {
+            super(64 * 1024);
+        }
+    }
+}